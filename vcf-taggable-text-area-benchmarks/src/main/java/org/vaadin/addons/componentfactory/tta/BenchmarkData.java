@@ -0,0 +1,97 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.flow.component.UI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates the catalogs and documents used by the benchmarks, and drives the headless UI they run
+ * on.
+ */
+final class BenchmarkData {
+
+  private static final String[] FIRST_NAMES = { "John", "Jane", "Joan", "Mary", "Marc", "Maria",
+      "Peter", "Paula", "Luis", "Lisa", "Anna", "Andrew", "Sofia", "Samuel", "Emma", "Erik" };
+  private static final String[] LAST_NAMES = { "Doe", "Smith", "Jones", "Garcia", "Miller",
+      "Davis", "Martin", "Lopez", "Wilson", "Moore", "Taylor", "Clark", "Lewis", "Walker" };
+  private static final String[] WORDS = ("lorem ipsum dolor sit amet consectetur adipiscing elit "
+      + "donec rutrum diam sed sem interdum semper morbi velit mi eu luctus imperdiet et nisi "
+      + "praesent odio metus porttitor mattis").split(" ");
+
+  private BenchmarkData() {
+  }
+
+  /**
+   * Returns {@code size} distinct labels looking like person names.
+   */
+  static List<String> labels(int size) {
+    List<String> labels = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      labels.add(FIRST_NAMES[i % FIRST_NAMES.length] + " "
+          + LAST_NAMES[(i / FIRST_NAMES.length) % LAST_NAMES.length] + " "
+          + Integer.toString(i, 36));
+    }
+    return labels;
+  }
+
+  /**
+   * Returns a text of {@code size} characters, with lines separated by {@code <br/>}, mentioning
+   * a random label about every 25 words.
+   */
+  static String document(List<String> labels, int size) {
+    Random random = new Random(42);
+    StringBuilder document = new StringBuilder(size + 64);
+    int words = 0;
+    while (document.length() < size) {
+      if (random.nextInt(25) == 0) {
+        document.append(labels.get(random.nextInt(labels.size())));
+      } else {
+        document.append(WORDS[random.nextInt(WORDS.length)]);
+      }
+      words++;
+      document.append(words % 15 == 0 ? "<br/>" : " ");
+    }
+    document.setLength(size);
+    return document.toString();
+  }
+
+  /**
+   * Creates a UI that is not attached to any session, as the tests of the component do.
+   */
+  static UI createUI() {
+    UI ui = new UI();
+    UI.setCurrent(ui);
+    return ui;
+  }
+
+  /**
+   * Does what writing a response would do with the pending changes and JavaScript invocations,
+   * so they do not pile up between benchmark invocations.
+   */
+  static void flush(UI ui) {
+    ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+    ui.getInternals().getStateTree().collectChanges(change -> {
+    });
+    ui.getInternals().dumpPendingJavaScriptInvocations();
+  }
+}
@@ -0,0 +1,102 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.flow.component.UI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the filter paths of the selectors, for growing catalogs. Every invocation filters
+ * the items with the query and then clears the filter again, as typing and deleting a mention
+ * does.
+ *
+ * <p>The non windowed {@link FilterListBoxSelector} is not included, as it creates a component for
+ * every item of the catalog.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SelectorFilterBenchmark {
+
+  @Param({ "10", "1000", "100000" })
+  private int catalogSize;
+
+  @Param({ "jo", "smith 1" })
+  private String query;
+
+  private FilterListSelector<String> listSelector;
+  private FilterListSelector<String> sourceSelector;
+  private FilterListBoxSelector<String> windowedListBoxSelector;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    BenchmarkData.createUI();
+    List<String> labels = BenchmarkData.labels(catalogSize);
+    listSelector = new FilterListSelector<>(labels);
+    listSelector.setFilterExpression(
+        (item, filterText) -> item.toLowerCase().contains(filterText.toLowerCase()));
+    sourceSelector = new FilterListSelector<>(TagCatalog.of(labels, item -> item));
+    windowedListBoxSelector = new FilterListBoxSelector<>(labels, 50);
+    windowedListBoxSelector.setFilterExpression(
+        (item, filterText) -> item.toLowerCase().contains(filterText.toLowerCase()));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    UI.setCurrent(null);
+  }
+
+  @Benchmark
+  public void filterListSelector() {
+    filter(listSelector);
+  }
+
+  @Benchmark
+  public void filterListSelectorWithTagSource() {
+    filter(sourceSelector);
+  }
+
+  @Benchmark
+  public void windowedFilterListBoxSelector() {
+    filter(windowedListBoxSelector);
+  }
+
+  private void filter(BaseFilterListSelector<String> selector) {
+    selector.getFilter().setValue(query);
+    selector.getFilter().setValue("");
+  }
+}
@@ -0,0 +1,100 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.flow.component.UI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the value processing of {@link TaggableTextArea}, for growing catalogs and
+ * documents.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TaggableTextAreaBenchmark {
+
+  @Param({ "10", "1000", "100000" })
+  private int catalogSize;
+
+  @Param({ "100", "10000", "1000000" })
+  private int documentSize;
+
+  private UI ui;
+  private TaggableTextArea<String> textArea;
+  private String document;
+  private String label;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    ui = BenchmarkData.createUI();
+    List<String> labels = BenchmarkData.labels(catalogSize);
+    textArea = new TaggableTextArea<>(labels);
+    ui.add(textArea);
+    document = BenchmarkData.document(labels, documentSize);
+    label = labels.get(labels.size() / 2);
+    textArea.setValue(document);
+    BenchmarkData.flush(ui);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    UI.setCurrent(null);
+  }
+
+  @Benchmark
+  public String processAndSetValue() {
+    textArea.processAndSetValue(document);
+    BenchmarkData.flush(ui);
+    return textArea.getHtmlValue();
+  }
+
+  @Benchmark
+  public String getValue() {
+    return textArea.getValue();
+  }
+
+  @Benchmark
+  public List<String> obtainUsedTags() {
+    return textArea.obtainUsedTags();
+  }
+
+  @Benchmark
+  public String decorateWithSpan() {
+    return textArea.decorateWithSpan(label);
+  }
+}
@@ -48,6 +48,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.vaadin.addons.componentfactory.tta.FilterListSelector;
 import org.vaadin.addons.componentfactory.tta.TaggableTextArea;
+import org.vaadin.addons.componentfactory.tta.TaggedTextRenderer;
 
 /**
  * View for {@link TaggableTextArea} demo.
@@ -79,13 +80,14 @@ public class TaggableTextAreaDemoView extends DemoView {
             "https://randomuser.me/api/portraits/women/43.jpg")));
 
     Editor<User> editor = usersGrid.getEditor();
+    TaggableTextArea<User> notesField = createGridTaggableTextArea();
     Grid.Column<User> nameColumn = usersGrid.addColumn(User::getName).setHeader("Name");
     Grid.Column<User> emailColumn = usersGrid.addColumn(User::getEmail).setHeader("Email");
-    Grid.Column<User> notesColumn = usersGrid.addColumn(new ComponentRenderer<>(user -> {
-      Span span = new Span();
-      span.getElement().executeJs("this.innerHTML = $0", user.getNotes());
-      return span;
-    })).setHeader("Notes").setResizable(true);
+    TaggedTextRenderer<User, User> notesRenderer =
+        new TaggedTextRenderer<>(User::getNotes, notesField.getTagSource());
+    notesRenderer.setTagPopupContentProvider(this::createTagPopupButton);
+    Grid.Column<User> notesColumn =
+        usersGrid.addColumn(notesRenderer).setHeader("Notes").setResizable(true);
     Grid.Column<User> birthDateColumn =
         usersGrid.addColumn(User::getBirthDate).setHeader("Birthdate");
     Grid.Column<User> editColumn = usersGrid.addComponentColumn(person -> {
@@ -112,7 +114,6 @@ public class TaggableTextAreaDemoView extends DemoView {
         User::setEmail);
     emailColumn.setEditorComponent(emailField);
 
-    TaggableTextArea<User> notesField = createGridTaggableTextArea();
     notesField.setWidthFull();
     binder.forField(notesField).bind(User::getNotes, User::setNotes);
     notesColumn.setEditorComponent(notesField);
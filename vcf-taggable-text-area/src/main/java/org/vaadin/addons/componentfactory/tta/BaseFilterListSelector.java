@@ -25,8 +25,12 @@ import com.vaadin.flow.component.customfield.CustomField;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.selection.SingleSelect;
 import com.vaadin.flow.data.value.ValueChangeMode;
+import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.SerializableBiFunction;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.util.List;
+import java.util.Objects;
 
 @SuppressWarnings("serial")
 public abstract class BaseFilterListSelector<T> extends CustomField<T>
@@ -43,9 +47,10 @@ public abstract class BaseFilterListSelector<T> extends CustomField<T>
 
   private List<T> filteredItems;
 
+  private transient TaggableTextAreaMetrics metrics = TaggableTextAreaMetrics.NOOP;
+
   protected void initFilter(List<T> items) {
-    filter.getElement().executeJs("return;")
-        .then(ev -> filter.getElement().executeJs("this.focus();"));
+    focusWhenVisible(filter.getElement());
     filter.setSizeFull();
     filter.setValueChangeMode(ValueChangeMode.EAGER);
     filteredItems = items;
@@ -56,6 +61,19 @@ public abstract class BaseFilterListSelector<T> extends CustomField<T>
     });
   }
 
+  /**
+   * Focuses the element as soon as it is rendered, which may take a few frames when it is inside
+   * a popup that is being opened, without waiting for a server round trip.
+   *
+   * @param element the element to focus
+   */
+  static void focusWhenVisible(Element element) {
+    element.executeJs("const focus = (frames) => {"
+        + "if (this.getClientRects().length > 0 || frames === 0) this.focus();"
+        + " else requestAnimationFrame(() => focus(frames - 1));"
+        + "}; requestAnimationFrame(() => focus(30));");
+  }
+
   /**
    * Returns the filter expression used to filter items.
    *
@@ -91,5 +109,39 @@ public abstract class BaseFilterListSelector<T> extends CustomField<T>
   protected List<T> getFilteredItems() {
     return filteredItems;
   }
+
+  /**
+   * Sets the filtered items list, the first of them will be selected when pressing Enter on the
+   * filter field.
+   * 
+   * @param filteredItems the filteredItems
+   */
+  protected void setFilteredItems(List<T> filteredItems) {
+    this.filteredItems = filteredItems;
+  }
+
+  /**
+   * Returns the metrics receiving the filter timings and result sizes.
+   *
+   * @return the metrics, {@link TaggableTextAreaMetrics#NOOP} by default
+   */
+  public TaggableTextAreaMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Sets the metrics receiving the filter timings and result sizes. The metrics are not
+   * serialized, {@link TaggableTextAreaMetrics#NOOP} is used after deserialization.
+   *
+   * @param metrics the metrics, not null
+   */
+  public void setMetrics(TaggableTextAreaMetrics metrics) {
+    this.metrics = Objects.requireNonNull(metrics, "Metrics cannot be null");
+  }
+
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    metrics = TaggableTextAreaMetrics.NOOP;
+  }
   
 }
@@ -0,0 +1,232 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link TagSource} decorator caching the lookups of another source, useful when the items are
+ * fetched from a slow directory. The results of {@link #search(String, int, int)},
+ * {@link #count(String)}, {@link #findByKey(String)} and {@link #findByLabel(String)} are cached
+ * (misses included). When the cache is full the least recently used entry is evicted, and entries
+ * older than the time to live, if any, are reloaded.
+ *
+ * <p>{@link #findTags(String, boolean)} is not cached, as every text is different. The cache is
+ * thread safe, so a single instance can be shared by all the components of the application.
+ *
+ * @param <T> the type of the items
+ */
+@SuppressWarnings("serial")
+public class CachingTagSource<T> implements TagSource<T> {
+
+  private static final Object MISSING = new Object();
+
+  private final TagSource<T> delegate;
+  private final int maxSize;
+  private final long timeToLiveNanos;
+  private transient Map<List<Object>, CacheEntry> cache;
+
+  /**
+   * Creates a caching source whose entries are evicted only when the cache is full.
+   *
+   * @param delegate the source to cache
+   * @param maxSize the maximum amount of cached lookups
+   */
+  public CachingTagSource(TagSource<T> delegate, int maxSize) {
+    this(delegate, maxSize, null);
+  }
+
+  /**
+   * Creates a caching source.
+   *
+   * @param delegate the source to cache
+   * @param maxSize the maximum amount of cached lookups
+   * @param timeToLive how long a cached lookup is valid, or null if they do not expire
+   */
+  public CachingTagSource(TagSource<T> delegate, int maxSize, Duration timeToLive) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Maximum size must be positive");
+    }
+    this.delegate = Objects.requireNonNull(delegate, "Delegate cannot be null");
+    this.maxSize = maxSize;
+    this.timeToLiveNanos = timeToLive == null ? 0 : timeToLive.toNanos();
+  }
+
+  /**
+   * Returns the cached source.
+   *
+   * @return the delegate
+   */
+  public TagSource<T> getDelegate() {
+    return delegate;
+  }
+
+  /**
+   * Removes all the cached lookups, for example after the items of the delegate have changed.
+   */
+  public synchronized void invalidateAll() {
+    if (cache != null) {
+      cache.clear();
+    }
+  }
+
+  /**
+   * Returns the amount of cached lookups.
+   *
+   * @return the cache size
+   */
+  public synchronized int getCacheSize() {
+    return cache == null ? 0 : cache.size();
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Stream<T> search(String filterText, int offset, int limit) {
+    List<T> page = (List<T>) get(Arrays.asList("search", filterText, offset, limit),
+        () -> delegate.search(filterText, offset, limit).collect(Collectors.toList()));
+    return page.stream();
+  }
+
+  @Override
+  public int count(String filterText) {
+    return (Integer) get(Arrays.asList("count", filterText), () -> delegate.count(filterText));
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Optional<T> findByKey(String key) {
+    Object item = get(Arrays.asList("key", key), () -> delegate.findByKey(key).orElse(null));
+    return Optional.ofNullable((T) item);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Optional<T> findByLabel(String label) {
+    Object item = get(labelKey(label), () -> delegate.findByLabel(label).orElse(null));
+    return Optional.ofNullable((T) item);
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public Map<String, T> findByLabels(Collection<String> labels) {
+    Map<String, T> result = new LinkedHashMap<>();
+    List<String> missing = new ArrayList<>();
+    for (String label : labels) {
+      Object item = peek(labelKey(label));
+      if (item == null) {
+        missing.add(label);
+      } else if (item != MISSING) {
+        result.put(label, (T) item);
+      }
+    }
+    if (!missing.isEmpty()) {
+      Map<String, T> resolved = delegate.findByLabels(missing);
+      for (String label : missing) {
+        T item = resolved.get(label);
+        put(labelKey(label), item);
+        if (item != null) {
+          result.put(label, item);
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public List<TagMatch> findTags(String text, boolean wordMatching) {
+    return delegate.findTags(text, wordMatching);
+  }
+
+  @Override
+  public String getLabel(T item) {
+    return delegate.getLabel(item);
+  }
+
+  @Override
+  public String getKey(T item) {
+    return delegate.getKey(item);
+  }
+
+  private static List<Object> labelKey(String label) {
+    return Arrays.asList("label", label);
+  }
+
+  /**
+   * Returns the cached value, loading it outside of the lock when missing so a slow delegate does
+   * not block the other lookups.
+   */
+  private Object get(List<Object> key, Supplier<Object> loader) {
+    Object value = peek(key);
+    if (value == null) {
+      value = loader.get();
+      put(key, value);
+    }
+    return value == MISSING ? null : value;
+  }
+
+  private synchronized Object peek(List<Object> key) {
+    CacheEntry entry = getCache().get(key);
+    if (entry == null) {
+      return null;
+    }
+    if (timeToLiveNanos > 0 && System.nanoTime() - entry.created > timeToLiveNanos) {
+      cache.remove(key);
+      return null;
+    }
+    return entry.value;
+  }
+
+  private synchronized void put(List<Object> key, Object value) {
+    getCache().put(key, new CacheEntry(value == null ? MISSING : value));
+  }
+
+  private Map<List<Object>, CacheEntry> getCache() {
+    if (cache == null) {
+      cache = new LinkedHashMap<List<Object>, CacheEntry>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Object>, CacheEntry> eldest) {
+          return size() > maxSize;
+        }
+      };
+    }
+    return cache;
+  }
+
+  private static final class CacheEntry implements Serializable {
+    private final Object value;
+    private final long created = System.nanoTime();
+
+    private CacheEntry(Object value) {
+      this.value = value;
+    }
+  }
+}
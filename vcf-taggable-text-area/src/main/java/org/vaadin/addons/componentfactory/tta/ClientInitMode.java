@@ -0,0 +1,40 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+/**
+ * When the client side listeners of a {@link TaggableTextArea} are installed.
+ *
+ * @see TaggableTextArea#setClientInitMode(ClientInitMode)
+ */
+public enum ClientInitMode {
+
+  /**
+   * The listeners are installed every time the component is attached. This is the default.
+   */
+  ATTACH,
+
+  /**
+   * The listeners are installed by the browser the first time the content is focused or pressed,
+   * without any call from the server, so components that are never edited cost nothing on the
+   * client side. Meant for views with many editors, e.g. read-only by default dashboards.
+   */
+  FOCUS
+}
@@ -0,0 +1,77 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.io.Serializable;
+
+/**
+ * An immutable version of the content of a {@link TaggableTextArea}, e.g. for saving drafts
+ * periodically and restoring them with {@link TaggableTextArea#restore(ContentSnapshot)}.
+ *
+ * <p>When the history of the component is enabled, see
+ * {@link TaggableTextArea#setHistorySize(int)}, taking a snapshot does not copy the content, it
+ * shares it with the component and with the other snapshots.
+ */
+@SuppressWarnings("serial")
+public final class ContentSnapshot implements Serializable {
+
+  private final Rope document;
+  private transient String html;
+
+  ContentSnapshot(Rope document) {
+    this.document = document;
+  }
+
+  Rope getDocument() {
+    return document;
+  }
+
+  /**
+   * Returns the HTML content, as returned by {@link TaggableTextArea#getHtmlValue()} when the
+   * snapshot was taken.
+   *
+   * @return the HTML content
+   */
+  public String getHtml() {
+    if (html == null) {
+      html = document.toString();
+    }
+    return html;
+  }
+
+  /**
+   * Returns the plain text content, as returned by {@link TaggableTextArea#getValue()} when the
+   * snapshot was taken.
+   *
+   * @return the plain text content
+   */
+  public String getText() {
+    return TagProcessor.toPlainText(getHtml());
+  }
+
+  /**
+   * Returns the length of the HTML content.
+   *
+   * @return the length of the HTML content
+   */
+  public int length() {
+    return document.length();
+  }
+}
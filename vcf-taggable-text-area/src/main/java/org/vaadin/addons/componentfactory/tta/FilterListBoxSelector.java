@@ -19,12 +19,14 @@
  */
 package org.vaadin.addons.componentfactory.tta;
 
+import com.vaadin.flow.component.ClientCallable;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.dependency.CssImport;
 import com.vaadin.flow.component.listbox.ListBox;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -34,7 +36,11 @@ import java.util.stream.Collectors;
  * <p>The {@code FilterListBoxSelector} allows to filter items in the list based on text input
  * and select an item either by pressing Enter or interacting with the {@link ListBox}.
  * 
- * <p>For a large amount of items use {@link FilterListSelector}.
+ * <p>By default every filtered item is rendered in the {@link ListBox}. For mid-sized lists the
+ * windowed mode can be enabled with {@link #FilterListBoxSelector(List, int)}, or later with
+ * {@link #setWindowed(boolean)}, so only a slice of the filtered items is rendered and the slice
+ * is moved while the user scrolls or navigates with the arrow keys. For a large amount of items use
+ * {@link FilterListSelector}.
  *
  * @param <T> the type of items displayed in the {@link ListBox}
  */
@@ -44,30 +50,88 @@ public class FilterListBoxSelector<T> extends BaseFilterListSelector<T> {
 	
 	ListBox<T> listBox = new ListBox<>();
 	
+	private List<T> items;
+	private boolean windowed;
+	private int windowSize;
+	private int windowOffset;
+	private boolean windowHasMore;
+	
     /**
      * Constructs a {@code FilterListBoxSelector} with the given list of items.
      *
      * @param items the list of items to display in the {@link ListBox}
      */
 	public FilterListBoxSelector(List<T> items) {
+		this(items, false, 50);
+	}
+	
+    /**
+     * Constructs a {@code FilterListBoxSelector} with the given list of items in the windowed
+     * mode, so only the first window of the items is ever rendered. See
+     * {@link #setWindowed(boolean)}.
+     *
+     * @param items the list of items to display in the {@link ListBox}
+     * @param windowSize the amount of rendered items, at least 2
+     */
+	public FilterListBoxSelector(List<T> items, int windowSize) {
+		this(items, true, windowSize);
+	}
+	
+	private FilterListBoxSelector(List<T> items, boolean windowed, int windowSize) {
+	    if (windowSize < 2) {
+	        throw new IllegalArgumentException("Window size must be at least 2");
+	    }
 	    setClassName("taggable-textarea-filter-listbox-selector");
-		listBox.setItems(items);
+	    this.items = items;
+	    this.windowed = windowed;
+	    this.windowSize = windowSize;
 		listBox.getElement().getClassList().set("taggable-textarea-filter-listbox-selector-listbox", true);
 		listBox.setSizeFull();
 		initFilter(items);
+		getElement().setProperty("windowed", windowed);
+		if (windowed) {
+			// nothing is filtered yet, as in the non windowed mode
+			renderWindow(new ArrayList<>(items.subList(0, Math.min(windowSize, items.size()))), 0,
+					items.size() > windowSize);
+		} else {
+			listBox.setItems(items);
+		}
 		TextField filter = getFilter();
-		filter.addValueChangeListener(e -> {
-		    List<T> filteredItems = getFilteredItems();
-			filteredItems = items.stream()
-					.filter(item -> getFilterExpression().apply(item, filter.getValue()))
-					.collect(Collectors.toList());
-			listBox.setItems(filteredItems);
-		});
+		filter.addValueChangeListener(e -> applyFilter());
 		filter.getElement().executeJs("this.addEventListener('keydown', (event) => {"
 				+ "if (event.key === \"ArrowDown\") {\n"
 				+ "  $0.focus({ preventScroll: true });\n"
 				+ " }\n"
 				+ "});",listBox.getElement());
+		listBox.getElement().executeJs(
+				"const listBox = this;\n"
+				+ "const selector = $0;\n"
+				+ "const threshold = 20;\n"
+				+ "const shift = (direction) => {\n"
+				+ "  if (selector._windowLoading) return;\n"
+				+ "  selector._windowLoading = true;\n"
+				+ "  selector.$server.shiftWindow(direction).then(() => selector._windowLoading = false,"
+				+ " () => selector._windowLoading = false);\n"
+				+ "};\n"
+				+ "listBox.addEventListener('scroll', () => {\n"
+				+ "  if (!selector.windowed) return;\n"
+				+ "  if (selector.windowHasMore && listBox.scrollTop + listBox.clientHeight >= listBox.scrollHeight - threshold) {\n"
+				+ "    shift(1);\n"
+				+ "  } else if (selector.windowOffset > 0 && listBox.scrollTop <= threshold) {\n"
+				+ "    shift(-1);\n"
+				+ "  }\n"
+				+ "});\n"
+				+ "listBox.addEventListener('keydown', (event) => {\n"
+				+ "  if (!selector.windowed || !listBox.items || !listBox.items.length) return;\n"
+				+ "  const index = listBox.items.indexOf(event.target);\n"
+				+ "  if (event.key === 'ArrowDown' && selector.windowHasMore && index === listBox.items.length - 1) {\n"
+				+ "    event.preventDefault();\n"
+				+ "    shift(1);\n"
+				+ "  } else if (event.key === 'ArrowUp' && selector.windowOffset > 0 && index === 0) {\n"
+				+ "    event.preventDefault();\n"
+				+ "    shift(-1);\n"
+				+ "  }\n"
+				+ "});", getElement());
 		listBox.addValueChangeListener(ev->{
 			if (ev.isFromClient()) {
     			this.setValue(listBox.getValue());
@@ -91,6 +155,153 @@ public class FilterListBoxSelector<T> extends BaseFilterListSelector<T> {
             ComponentRenderer<? extends Component, T> itemRenderer) {
         this.listBox.setRenderer(itemRenderer);
     }
+    
+    /**
+     * Replaces the items of the selector, applying the current filter to them.
+     * 
+     * @param items the new list of items
+     */
+    public void setItems(List<T> items) {
+        this.items = items;
+        applyFilter();
+    }
+    
+    private void applyFilter() {
+        long start = System.nanoTime();
+        int filteredCount;
+        if (windowed) {
+            // the whole list is only counted when somebody records the count
+            filteredCount = showWindow(0, getMetrics() != TaggableTextAreaMetrics.NOOP);
+        } else {
+            List<T> filteredItems = items.stream()
+                    .filter(item -> getFilterExpression().apply(item, getFilter().getValue()))
+                    .collect(Collectors.toList());
+            setFilteredItems(filteredItems);
+            listBox.setItems(filteredItems);
+            filteredCount = filteredItems.size();
+        }
+        getMetrics().recordFilterResultSize(filteredCount);
+        getMetrics().recordTime(TaggableTextAreaMetrics.Operation.FILTER, System.nanoTime() - start);
+    }
+    
+    /**
+     * Enables or disables the windowed mode. When enabled, only {@link #getWindowSize()} of the
+     * filtered items are rendered in the {@link ListBox} at the same time, and the rendered slice
+     * is moved when the user scrolls to its edges or navigates past them with the arrow keys. The
+     * filtered items are not collected, so the server memory does not grow with the item count.
+     * 
+     * @param windowed true to render only a window of the filtered items, false to render all of
+     *        them
+     */
+    public void setWindowed(boolean windowed) {
+        this.windowed = windowed;
+        getElement().setProperty("windowed", windowed);
+        if (windowed) {
+            showWindow(0, false);
+        } else {
+            setFilteredItems(items);
+            listBox.setItems(items);
+            getElement().setProperty("windowOffset", 0);
+            getElement().setProperty("windowHasMore", false);
+        }
+    }
+    
+    /**
+     * Returns whether the windowed mode is enabled.
+     * 
+     * @return true if only a window of the filtered items is rendered
+     */
+    public boolean isWindowed() {
+        return windowed;
+    }
+    
+    /**
+     * Sets the amount of items rendered at the same time when the windowed mode is enabled. It
+     * should be the amount of visible items plus a buffer, so the user can scroll smoothly before
+     * the next window is fetched. Defaults to 50.
+     * 
+     * @param windowSize the amount of rendered items, at least 2
+     */
+    public void setWindowSize(int windowSize) {
+        if (windowSize < 2) {
+            throw new IllegalArgumentException("Window size must be at least 2");
+        }
+        this.windowSize = windowSize;
+        if (windowed) {
+            showWindow(0, false);
+        }
+    }
+    
+    /**
+     * Returns the amount of items rendered at the same time when the windowed mode is enabled.
+     * 
+     * @return the window size
+     */
+    public int getWindowSize() {
+        return windowSize;
+    }
+    
+    /**
+     * Moves the rendered window half of its size forward or backward, called from the client side
+     * when the user reaches one of the edges of the rendered window.
+     * 
+     * @param direction positive to move forward, negative to move backward
+     */
+    @ClientCallable
+    void shiftWindow(int direction) {
+        if (!windowed || direction == 0) {
+            return;
+        }
+        int step = Math.max(1, windowSize / 2);
+        int newOffset = direction > 0 ? windowOffset + step : Math.max(0, windowOffset - step);
+        if (direction > 0 && !windowHasMore || newOffset == windowOffset) {
+            return;
+        }
+        int shifted = newOffset - windowOffset;
+        showWindow(newOffset, false);
+        // keep the item the user was looking at in place after the items have been replaced
+        int anchor = direction > 0 ? windowSize - 1 - shifted : -shifted;
+        listBox.getElement().executeJs("requestAnimationFrame(() => {"
+                + "const item = this.items && this.items[Math.max(0, Math.min($0, this.items.length - 1))];"
+                + "if (item) { item.scrollIntoView({ block: 'nearest' });"
+                + " if (this.contains(document.activeElement) || this === document.activeElement) item.focus(); }"
+                + "});", anchor);
+    }
+    
+    /**
+     * Renders the window of the filtered items starting at the given offset. Unless all the
+     * filtered items are counted, the items after the window are not filtered.
+     * 
+     * @return the amount of filtered items, or of those up to the end of the window if not all of
+     *         them are counted
+     */
+    private int showWindow(int offset, boolean countAll) {
+        String filterText = getFilter().getValue();
+        List<T> window = new ArrayList<>();
+        int count = 0;
+        for (T item : items) {
+            if (getFilterExpression().apply(item, filterText)) {
+                if (count >= offset && count < offset + windowSize) {
+                    window.add(item);
+                }
+                count++;
+                if (!countAll && count > offset + windowSize) {
+                    break;
+                }
+            }
+        }
+        renderWindow(window, offset, count > offset + windowSize);
+        return count;
+    }
+    
+    private void renderWindow(List<T> window, int offset, boolean hasMore) {
+        windowHasMore = hasMore;
+        windowOffset = offset;
+        setFilteredItems(window);
+        listBox.setItems(window);
+        getElement().setProperty("windowOffset", windowOffset);
+        getElement().setProperty("windowHasMore", windowHasMore);
+    }
 	
 	@Override
 	public T getValue() {
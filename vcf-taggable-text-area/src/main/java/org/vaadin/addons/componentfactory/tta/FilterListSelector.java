@@ -32,6 +32,8 @@ import com.vaadin.flow.component.orderedlayout.FlexComponent;
 import com.vaadin.flow.component.orderedlayout.HorizontalLayout;
 import com.vaadin.flow.component.orderedlayout.VerticalLayout;
 import com.vaadin.flow.component.textfield.TextField;
+import com.vaadin.flow.data.provider.ConfigurableFilterDataProvider;
+import com.vaadin.flow.data.provider.DataProvider;
 import com.vaadin.flow.data.provider.ListDataProvider;
 import com.vaadin.flow.data.renderer.ComponentRenderer;
 import java.util.List;
@@ -46,7 +48,7 @@ import java.util.stream.Collectors;
  * an item either by pressing Enter or interacting with the {@link Grid}.
  *
  * This particular selector is advised to be used when a large amount of items needs to be
- * displayed.
+ * displayed. The items can be given as a list, or fetched lazily from a {@link TagSource}.
  * 
  * @param <T> the type of items displayed
  */
@@ -60,6 +62,9 @@ public class FilterListSelector<T> extends BaseFilterListSelector<T> {
   private T selectedItem = null;
   private T focusedItem = null;
   private int visibleItems = 10;
+  private List<T> items;
+  private TagSource<T> tagSource;
+  private ConfigurableFilterDataProvider<T, Void, String> sourceDataProvider;
 
   /**
    * Constructs a {@code FilterListSelector} with the given list of items.
@@ -67,7 +72,56 @@ public class FilterListSelector<T> extends BaseFilterListSelector<T> {
    * @param items the list of items to display in the {@link Grid}
    */
   public FilterListSelector(List<T> items) {
-    this(items, new ComponentRenderer<>(item -> {
+    this(items, FilterListSelector.<T>createDefaultRenderer());
+  }
+
+  /**
+   * Constructs a {@code FilterListSelector} with the given list of items and the given
+   * itemRenderer.
+   *
+   * @param items the list of items to display in the {@link Grid}
+   * @param itemRenderer the renderer for the items
+   */
+  public FilterListSelector(List<T> items, ComponentRenderer<? extends Component, T> itemRenderer) {
+    this.items = items;
+    gridList.setItems(items);
+    init(items, itemRenderer);
+  }
+
+  /**
+   * Constructs a {@code FilterListSelector} fetching the items lazily from the given
+   * {@link TagSource}. The filter text is passed to {@link TagSource#search(String, int, int)}, so
+   * the filter expression is not used.
+   *
+   * @param tagSource the source of the items to display in the {@link Grid}
+   */
+  public FilterListSelector(TagSource<T> tagSource) {
+    this(tagSource, FilterListSelector.<T>createDefaultRenderer());
+  }
+
+  /**
+   * Constructs a {@code FilterListSelector} fetching the items lazily from the given
+   * {@link TagSource}, using the given itemRenderer.
+   *
+   * @param tagSource the source of the items to display in the {@link Grid}
+   * @param itemRenderer the renderer for the items
+   */
+  public FilterListSelector(TagSource<T> tagSource,
+      ComponentRenderer<? extends Component, T> itemRenderer) {
+    this.tagSource = tagSource;
+    sourceDataProvider = DataProvider.<T, String>fromFilteringCallbacks(
+        query -> tagSource.search(query.getFilter().orElse(""), query.getOffset(),
+            query.getLimit()),
+        query -> tagSource.count(query.getFilter().orElse(""))).withConfigurableFilter();
+    gridList.setDataProvider(sourceDataProvider);
+    // send the first page with the response attaching the selector, without waiting for the grid
+    // to request it
+    gridList.getDataCommunicator().setRequestedRange(0, gridList.getPageSize());
+    init(firstItem(""), itemRenderer);
+  }
+
+  private static <T> ComponentRenderer<? extends Component, T> createDefaultRenderer() {
+    return new ComponentRenderer<HorizontalLayout, T>(item -> {
       HorizontalLayout row = new HorizontalLayout();
       row.setAlignItems(FlexComponent.Alignment.CENTER);
 
@@ -80,39 +134,24 @@ public class FilterListSelector<T> extends BaseFilterListSelector<T> {
       row.add(column);
       row.getStyle().set("line-height", "var(--lumo-line-height-m)");
       return row;
-    }));
+    });
   }
 
-  /**
-   * Constructs a {@code FilterListSelector} with the given list of items and the given
-   * itemRenderer.
-   *
-   * @param items the list of items to display in the {@link Grid}
-   * @param itemRenderer the renderer for the items
-   */
-  public FilterListSelector(List<T> items, ComponentRenderer<? extends Component, T> itemRenderer) {
+  private void init(List<T> initialItems, ComponentRenderer<? extends Component, T> itemRenderer) {
     setClassName("taggable-textarea-filter-list-selector");
     this.itemRenderer = itemRenderer;
 
     gridList.addClassName("taggable-textarea-filter-list-selector-list");
     gridList.setSelectionMode(SelectionMode.SINGLE);
-    gridList.setItems(items);
     gridList.addThemeVariants(GridVariant.LUMO_NO_ROW_BORDERS, GridVariant.LUMO_NO_BORDER);
     setAllRowsVisibleIfItemCountIsLessThan(visibleItems);
     column = gridList.addColumn(this.itemRenderer);
     column.setClassNameGenerator(c -> "taggable-textarea-filter-list-selector-list-column");
 
-    initFilter(items);
+    initFilter(initialItems);
     TextField filter = getFilter();
 
-    filter.addValueChangeListener(e -> {
-      List<T> filteredItems = getFilteredItems();
-      filteredItems =
-          items.stream().filter(item -> getFilterExpression().apply(item, filter.getValue()))
-              .collect(Collectors.toList());
-      gridList.setItems(filteredItems);
-      setAllRowsVisibleIfItemCountIsLessThan(visibleItems);
-    });
+    filter.addValueChangeListener(e -> applyFilter());
     filter.getElement().executeJs(
         "this.addEventListener('keydown', (event) => {" +
         "    if (event.key === 'ArrowDown') { " +
@@ -154,6 +193,46 @@ public class FilterListSelector<T> extends BaseFilterListSelector<T> {
     add(layout);
   }
   
+  /**
+   * Replaces the items of the selector, applying the current filter to them. If the selector was
+   * fetching the items from a {@link TagSource}, it will use the given list instead.
+   *
+   * @param items the new list of items
+   */
+  public void setItems(List<T> items) {
+    this.items = items;
+    this.tagSource = null;
+    this.sourceDataProvider = null;
+    applyFilter();
+  }
+
+  /**
+   * Fetches the items again, applying the current filter, after the items of the list or the
+   * {@link TagSource} have changed.
+   */
+  public void refresh() {
+    applyFilter();
+  }
+
+  private void applyFilter() {
+    long start = System.nanoTime();
+    String filterText = getFilter().getValue();
+    if (tagSource != null) {
+      sourceDataProvider.setFilter(filterText);
+      setFilteredItems(firstItem(filterText));
+    } else {
+      List<T> filteredItems =
+          items.stream().filter(item -> getFilterExpression().apply(item, filterText))
+              .collect(Collectors.toList());
+      setFilteredItems(filteredItems);
+      gridList.setItems(filteredItems);
+    }
+    int itemCount = countItems();
+    gridList.setAllRowsVisible(itemCount < visibleItems);
+    getMetrics().recordFilterResultSize(itemCount);
+    getMetrics().recordTime(TaggableTextAreaMetrics.Operation.FILTER, System.nanoTime() - start);
+  }
+
   @Override
   public T getValue() {
     return this.selectedItem;
@@ -178,11 +257,21 @@ public class FilterListSelector<T> extends BaseFilterListSelector<T> {
    * 
    * @param visibleItems the maximum number of items below which all rows are displayed
    */
-  @SuppressWarnings("unchecked")
   public void setAllRowsVisibleIfItemCountIsLessThan(int visibleItems) {
-    this.visibleItems = visibleItems;    
-    ListDataProvider<T> listDataProvider = ((ListDataProvider<T>)gridList.getDataProvider());
-    gridList.setAllRowsVisible(listDataProvider.getItems().size() < visibleItems);
+    this.visibleItems = visibleItems;
+    gridList.setAllRowsVisible(countItems() < visibleItems);
+  }
+
+  @SuppressWarnings("unchecked")
+  private int countItems() {
+    if (tagSource != null) {
+      return tagSource.count(getFilter().getValue());
+    }
+    return ((ListDataProvider<T>) gridList.getDataProvider()).getItems().size();
+  }
+
+  private List<T> firstItem(String filterText) {
+    return tagSource.search(filterText, 0, 1).collect(Collectors.toList());
   }
 
 }
@@ -0,0 +1,269 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.flow.function.SerializableFunction;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * A {@link TagSource} backed by a list of items kept in memory.
+ *
+ * <p>The lookup structures are built lazily on the first query, as a {@link TagCatalog} private to
+ * this source, and are not serialized: only the items are, and the structures are built again on
+ * the first query after deserialization. Use a {@link SharedTagCatalog} instead when the same items
+ * are used by many components.
+ *
+ * <p>The list given to the constructor is read through: when its size changes, e.g. because the
+ * caller added items to it, the lookup structures are built again on the next query. Replacing an
+ * item of the list keeps its size, so {@link #refresh()} must be called afterwards.
+ *
+ * <p>Items can be added and removed with {@link #addItems(Collection)} and
+ * {@link #removeItems(Collection)}, which update the lookup structures incrementally instead of
+ * rebuilding them. The list given to the constructor is never modified: it is copied before the
+ * first change, and the copy is read through from then on.
+ *
+ * <p>The source is thread-safe: the lookup structures are built once even when several threads
+ * query it at the same time, e.g. a {@link TagProcessor} finding the tags in the background, and
+ * the changes are applied atomically.
+ *
+ * @param <T> the type of the items
+ */
+@SuppressWarnings("serial")
+public class InMemoryTagSource<T> implements TagSource<T> {
+
+  private volatile List<T> items;
+  private boolean ownItems;
+  private final SerializableFunction<T, String> labelGenerator;
+  private final SerializableFunction<T, String> keyGenerator;
+  private transient volatile Index<T> index;
+  private long version;
+
+  /**
+   * Creates a source for the given items, using the labels as keys.
+   *
+   * @param items the items
+   * @param labelGenerator the function generating the label of an item
+   */
+  public InMemoryTagSource(List<T> items, SerializableFunction<T, String> labelGenerator) {
+    this(items, labelGenerator, labelGenerator);
+  }
+
+  /**
+   * Creates a source for the given items.
+   *
+   * @param items the items
+   * @param labelGenerator the function generating the label of an item
+   * @param keyGenerator the function generating the key of an item
+   */
+  public InMemoryTagSource(List<T> items, SerializableFunction<T, String> labelGenerator,
+      SerializableFunction<T, String> keyGenerator) {
+    this.items = Objects.requireNonNull(items, "Items cannot be null");
+    this.labelGenerator = Objects.requireNonNull(labelGenerator, "Label generator cannot be null");
+    this.keyGenerator = Objects.requireNonNull(keyGenerator, "Key generator cannot be null");
+  }
+
+  /**
+   * Returns the items of this source.
+   *
+   * @return an unmodifiable view of the items
+   */
+  public List<T> getItems() {
+    return Collections.unmodifiableList(items);
+  }
+
+  /**
+   * Returns the list read through by this source, shared with the component created with it.
+   */
+  List<T> getItemList() {
+    return items;
+  }
+
+  /**
+   * Makes this source read through the given list from now on, when the component created with
+   * this source was given another list.
+   */
+  synchronized void useItemList(List<T> items) {
+    if (this.items != items) {
+      this.items = Objects.requireNonNull(items, "Items cannot be null");
+      ownItems = false;
+    }
+  }
+
+  /**
+   * Builds the lookup structures again on the next query, after items of the list given to the
+   * constructor were replaced without changing its size.
+   */
+  public void refresh() {
+    index = null;
+  }
+
+  /**
+   * Adds items to this source. An added item replaces the item with the same key, if any.
+   *
+   * @param newItems the items to add
+   */
+  public synchronized void addItems(Collection<T> newItems) {
+    TagCatalog<T> updated = getCatalog().withAddedItems(newItems);
+    Set<String> keys = keysOf(newItems);
+    List<T> list = ownItems();
+    list.removeIf(item -> keys.contains(keyGenerator.apply(item)));
+    list.addAll(newItems);
+    index = new Index<>(updated, list, ++version);
+  }
+
+  /**
+   * Removes the items having the same keys as the given ones from this source.
+   *
+   * @param removedItems the items to remove
+   */
+  public synchronized void removeItems(Collection<T> removedItems) {
+    TagCatalog<T> updated = getCatalog().withRemovedItems(removedItems);
+    Set<String> keys = keysOf(removedItems);
+    List<T> list = ownItems();
+    list.removeIf(item -> keys.contains(keyGenerator.apply(item)));
+    index = new Index<>(updated, list, ++version);
+  }
+
+  /**
+   * Replaces all the items of this source.
+   *
+   * @param newItems the new items
+   */
+  public synchronized void setItems(Collection<T> newItems) {
+    List<T> list = new ArrayList<>(newItems);
+    items = list;
+    ownItems = true;
+    index = new Index<>(TagCatalog.of(list, labelGenerator, keyGenerator), list, ++version);
+  }
+
+  /**
+   * The list given to the constructor belongs to the caller, so it is copied once before the first
+   * change.
+   */
+  private List<T> ownItems() {
+    if (!ownItems) {
+      items = new ArrayList<>(items);
+      ownItems = true;
+    }
+    return items;
+  }
+
+  private Set<String> keysOf(Collection<T> items) {
+    Set<String> keys = new HashSet<>();
+    for (T item : items) {
+      keys.add(keyGenerator.apply(item));
+    }
+    return keys;
+  }
+
+  @Override
+  public Stream<T> search(String filterText, int offset, int limit) {
+    return getCatalog().search(filterText, offset, limit);
+  }
+
+  @Override
+  public int count(String filterText) {
+    return getCatalog().count(filterText);
+  }
+
+  @Override
+  public Optional<T> findByKey(String key) {
+    return getCatalog().findByKey(key);
+  }
+
+  @Override
+  public Optional<T> findByLabel(String label) {
+    return getCatalog().findByLabel(label);
+  }
+
+  @Override
+  public List<TagMatch> findTags(String text, boolean wordMatching) {
+    return getCatalog().findTags(text, wordMatching);
+  }
+
+  @Override
+  public String getLabel(T item) {
+    return labelGenerator.apply(item);
+  }
+
+  @Override
+  public String getKey(T item) {
+    return keyGenerator.apply(item);
+  }
+
+  /**
+   * Returns the version of the items of this source, incremented every time the lookup structures
+   * are built again.
+   */
+  long getVersion() {
+    return getIndex().version;
+  }
+
+  private TagCatalog<T> getCatalog() {
+    return getIndex().catalog;
+  }
+
+  private Index<T> getIndex() {
+    Index<T> result = index;
+    if (result == null || !result.isFor(items)) {
+      synchronized (this) {
+        result = index;
+        if (result == null || !result.isFor(items)) {
+          result = new Index<>(TagCatalog.of(items, labelGenerator, keyGenerator), items,
+              ++version);
+          index = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * The lookup structures, with the list they were built from, its size at that time and the
+   * version of the source.
+   */
+  private static final class Index<T> implements Serializable {
+
+    private final TagCatalog<T> catalog;
+    private final List<T> items;
+    private final int size;
+    private final long version;
+
+    private Index(TagCatalog<T> catalog, List<T> items, long version) {
+      this.catalog = catalog;
+      this.items = items;
+      this.size = items.size();
+      this.version = version;
+    }
+
+    private boolean isFor(List<T> items) {
+      return this.items == items && size == items.size();
+    }
+  }
+}
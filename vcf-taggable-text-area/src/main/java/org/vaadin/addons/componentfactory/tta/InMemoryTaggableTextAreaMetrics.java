@@ -0,0 +1,219 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link TaggableTextAreaMetrics} that aggregates the measurements in memory, keeping the count,
+ * sum and maximum of each of them, so they can be polled by a monitoring system or logged. A
+ * single instance is meant to be shared by all the components of the application.
+ *
+ * <pre>
+ * InMemoryTaggableTextAreaMetrics metrics = new InMemoryTaggableTextAreaMetrics();
+ * textArea.setMetrics(metrics);
+ * ...
+ * long calls = metrics.getTimes(Operation.UPDATE_CONTENT).getCount();
+ * </pre>
+ */
+@SuppressWarnings("serial")
+public class InMemoryTaggableTextAreaMetrics implements TaggableTextAreaMetrics {
+
+  private final Map<Operation, Statistic> times = createStatistics();
+  private final Map<Operation, Statistic> payloadSizes = createStatistics();
+  private final Map<Operation, Statistic> tagCounts = createStatistics();
+  private final Statistic filterResultSizes = new Statistic();
+
+  private static Map<Operation, Statistic> createStatistics() {
+    // all the keys are added up front, so the map is only read afterwards
+    Map<Operation, Statistic> statistics = new EnumMap<>(Operation.class);
+    for (Operation operation : Operation.values()) {
+      statistics.put(operation, new Statistic());
+    }
+    return statistics;
+  }
+
+  @Override
+  public void recordTime(Operation operation, long nanos) {
+    times.get(operation).record(nanos);
+  }
+
+  @Override
+  public void recordPayloadSize(Operation operation, long bytes) {
+    payloadSizes.get(operation).record(bytes);
+  }
+
+  @Override
+  public void recordTagCount(Operation operation, int count) {
+    tagCounts.get(operation).record(count);
+  }
+
+  @Override
+  public void recordFilterResultSize(int size) {
+    filterResultSizes.record(size);
+  }
+
+  /**
+   * Returns the times spent in an operation, in nanoseconds. Its count is the amount of calls.
+   *
+   * @param operation the operation
+   * @return the statistic of the times
+   */
+  public Statistic getTimes(Operation operation) {
+    return times.get(operation);
+  }
+
+  /**
+   * Returns the payload sizes of an operation, in bytes.
+   *
+   * @param operation the operation
+   * @return the statistic of the payload sizes
+   */
+  public Statistic getPayloadSizes(Operation operation) {
+    return payloadSizes.get(operation);
+  }
+
+  /**
+   * Returns the amounts of tags found in an operation.
+   *
+   * @param operation the operation
+   * @return the statistic of the tag counts
+   */
+  public Statistic getTagCounts(Operation operation) {
+    return tagCounts.get(operation);
+  }
+
+  /**
+   * Returns the amounts of items matching the filter of the selectors.
+   *
+   * @return the statistic of the filter result sizes
+   */
+  public Statistic getFilterResultSizes() {
+    return filterResultSizes;
+  }
+
+  /**
+   * Resets all the statistics.
+   */
+  public void reset() {
+    times.values().forEach(Statistic::reset);
+    payloadSizes.values().forEach(Statistic::reset);
+    tagCounts.values().forEach(Statistic::reset);
+    filterResultSizes.reset();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder result = new StringBuilder("InMemoryTaggableTextAreaMetrics[");
+    for (Operation operation : Operation.values()) {
+      Statistic time = times.get(operation);
+      if (time.getCount() > 0) {
+        result.append(operation).append(": calls=").append(time.getCount())
+            .append(", meanMillis=")
+            .append(String.format("%.3f", time.getMean() / TimeUnit.MILLISECONDS.toNanos(1)))
+            .append(", maxMillis=")
+            .append(String.format("%.3f", (double) time.getMax() / TimeUnit.MILLISECONDS.toNanos(1)));
+        if (payloadSizes.get(operation).getCount() > 0) {
+          result.append(", meanBytes=").append(Math.round(payloadSizes.get(operation).getMean()));
+        }
+        if (tagCounts.get(operation).getCount() > 0) {
+          result.append(", meanTags=").append(Math.round(tagCounts.get(operation).getMean()));
+        }
+        result.append("; ");
+      }
+    }
+    return result.append("meanFilterResultSize=")
+        .append(Math.round(filterResultSizes.getMean())).append("]").toString();
+  }
+
+  /**
+   * Count, sum and maximum of the recorded values of a measurement. The values are updated
+   * concurrently without locking, so they may be slightly inconsistent with each other while
+   * measurements are being recorded.
+   */
+  public static final class Statistic implements Serializable {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    void record(long value) {
+      count.increment();
+      sum.add(value);
+      long current;
+      while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+        // another thread recorded a value in the meantime, check again
+      }
+    }
+
+    void reset() {
+      count.reset();
+      sum.reset();
+      max.set(0);
+    }
+
+    /**
+     * Returns the amount of recorded values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+      return count.sum();
+    }
+
+    /**
+     * Returns the sum of the recorded values.
+     *
+     * @return the sum
+     */
+    public long getSum() {
+      return sum.sum();
+    }
+
+    /**
+     * Returns the largest recorded value.
+     *
+     * @return the maximum, 0 if no values were recorded
+     */
+    public long getMax() {
+      return max.get();
+    }
+
+    /**
+     * Returns the mean of the recorded values.
+     *
+     * @return the mean, 0 if no values were recorded
+     */
+    public double getMean() {
+      long n = getCount();
+      return n == 0 ? 0 : (double) getSum() / n;
+    }
+
+    @Override
+    public String toString() {
+      return "Statistic[count=" + getCount() + ", sum=" + getSum() + ", max=" + getMax() + "]";
+    }
+  }
+}
@@ -0,0 +1,461 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.flow.function.SerializableFunction;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * A read-only label index of a very large catalog, built offline with
+ * {@link #write(Collection, SerializableFunction, SerializableFunction, Path)} and memory mapped
+ * from the file with {@link #open(Path)}, so it is neither built at startup nor kept in the heap.
+ * See {@link MappedTagSource} for using it as the source of the tags.
+ *
+ * <p>The file contains the labels sorted for the same single pass matching as {@link TagCatalog},
+ * the lower case labels, a table of the keys sorted for lookups and a suffix table of the lower
+ * case labels, all the strings as UTF-16 characters, so they are compared in place without
+ * decoding them. The suffix table lists every position of the lower case labels, sorted by the
+ * text following it, so the labels containing a text are found with a binary search, at the cost
+ * of four bytes per character of the labels. An index is opened once per file and shared by all
+ * the components, and it is serialized as its path.
+ */
+@SuppressWarnings("serial")
+public final class MappedTagIndex implements Serializable {
+
+  private static final int MAGIC = 0x54544149;
+  private static final int FORMAT_VERSION = 2;
+  private static final int HEADER_SIZE = 20;
+  private static final int ENTRY_SIZE = 24;
+  private static final Map<Path, MappedTagIndex> OPEN = new ConcurrentHashMap<>();
+
+  private final String path;
+  /** Only read with absolute gets, which do not change the buffer and are safe to share. */
+  private final transient ByteBuffer buffer;
+  private final int size;
+  private final int keyOrderOffset;
+  private final int suffixCount;
+  private final int suffixesOffset;
+  private final int charsOffset;
+
+  private MappedTagIndex(Path path, ByteBuffer buffer) throws IOException {
+    this.path = path.toString();
+    this.buffer = buffer;
+    if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+      throw new IOException(path + " is not a tag index");
+    }
+    if (buffer.getInt(4) != FORMAT_VERSION) {
+      throw new IOException(path + " has the unsupported format version " + buffer.getInt(4));
+    }
+    size = buffer.getInt(8);
+    suffixCount = buffer.getInt(16);
+    keyOrderOffset = HEADER_SIZE + size * ENTRY_SIZE;
+    suffixesOffset = keyOrderOffset + size * 4;
+    charsOffset = suffixesOffset + suffixCount * 4;
+    if (charsOffset + buffer.getInt(12) * 2L != buffer.capacity()) {
+      throw new IOException(path + " is truncated");
+    }
+  }
+
+  /**
+   * Writes the index of the given items to a file, replacing it atomically if it exists, so the
+   * index can be rebuilt while the previous version is still mapped. Items with an empty label are
+   * ignored.
+   *
+   * @param <T> the type of the items
+   * @param items the items to index
+   * @param labelGenerator the function generating the label of an item
+   * @param keyGenerator the function generating the key of an item
+   * @param file the index file
+   * @throws IOException if the file cannot be written
+   */
+  public static <T> void write(Collection<T> items, SerializableFunction<T, String> labelGenerator,
+      SerializableFunction<T, String> keyGenerator, Path file) throws IOException {
+    List<String[]> entries = new ArrayList<>(items.size());
+    for (T item : items) {
+      String label = labelGenerator.apply(item);
+      if (label != null && !label.isEmpty()) {
+        entries.add(new String[] {label, label.toLowerCase(),
+            Objects.requireNonNull(keyGenerator.apply(item), "Key cannot be null")});
+      }
+    }
+    entries.sort(Comparator.comparing(entry -> entry[0]));
+    int[] keyOrder = IntStream.range(0, entries.size()).boxed()
+        .sorted(Comparator.comparing(i -> entries.get(i)[2])).mapToInt(Integer::intValue).toArray();
+    long charCount = entries.stream()
+        .mapToLong(entry -> entry[0].length() + entry[1].length() + entry[2].length()).sum();
+    long suffixCount = entries.stream().mapToLong(entry -> entry[1].length()).sum();
+    long fileSize =
+        HEADER_SIZE + (long) entries.size() * (ENTRY_SIZE + 4) + suffixCount * 4 + charCount * 2;
+    if (fileSize > Integer.MAX_VALUE) {
+      throw new IOException("The index would exceed 2 GB");
+    }
+
+    char[] chars = new char[(int) charCount];
+    // the end of the lower case label of each suffix, by position
+    int[] ends = new int[(int) charCount];
+    int[] suffixes = new int[(int) suffixCount];
+    int position = 0;
+    int suffix = 0;
+    for (String[] entry : entries) {
+      for (int field = 0; field < entry.length; field++) {
+        String value = entry[field];
+        value.getChars(0, value.length(), chars, position);
+        if (field == 1) {
+          for (int i = 0; i < value.length(); i++) {
+            ends[position + i] = position + value.length();
+            suffixes[suffix++] = position + i;
+          }
+        }
+        position += value.length();
+      }
+    }
+    suffixes = IntStream.of(suffixes).boxed()
+        .sorted((a, b) -> compareSuffixes(chars, a, ends[a], b, ends[b]))
+        .mapToInt(Integer::intValue).toArray();
+
+    ByteBuffer out = ByteBuffer.allocate((int) fileSize);
+    out.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(entries.size()).putInt((int) charCount)
+        .putInt((int) suffixCount);
+    position = 0;
+    for (String[] entry : entries) {
+      for (String value : entry) {
+        out.putInt(position).putInt(value.length());
+        position += value.length();
+      }
+    }
+    for (int index : keyOrder) {
+      out.putInt(index);
+    }
+    for (int start : suffixes) {
+      out.putInt(start);
+    }
+    for (char c : chars) {
+      out.putChar(c);
+    }
+    out.flip();
+
+    Path absolute = file.toAbsolutePath();
+    Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+    try {
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        while (out.hasRemaining()) {
+          channel.write(out);
+        }
+      }
+      Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      // do not leave a partial index behind, e.g. when the disk is full
+      try {
+        Files.deleteIfExists(temp);
+      } catch (IOException deleteFailure) {
+        e.addSuppressed(deleteFailure);
+      }
+      throw e;
+    }
+  }
+
+  private static int compareSuffixes(char[] chars, int a, int aEnd, int b, int bEnd) {
+    int common = Math.min(aEnd - a, bEnd - b);
+    for (int i = 0; i < common; i++) {
+      int difference = chars[a + i] - chars[b + i];
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    int difference = (aEnd - a) - (bEnd - b);
+    return difference != 0 ? difference : Integer.compare(a, b);
+  }
+
+  /**
+   * Returns the index of the file, mapping it the first time it is opened.
+   *
+   * @param file the index file
+   * @return the shared index
+   * @throws UncheckedIOException if the file cannot be read or is not an index
+   */
+  public static MappedTagIndex open(Path file) {
+    return OPEN.computeIfAbsent(file.toAbsolutePath().normalize(), MappedTagIndex::map);
+  }
+
+  /**
+   * Maps the file again, e.g. after the index has been rebuilt. The index returned by
+   * {@link #open(Path)} before keeps the previous version mapped until it is not used anymore.
+   *
+   * @param file the index file
+   * @return the shared index
+   * @throws UncheckedIOException if the file cannot be read or is not an index
+   */
+  public static MappedTagIndex reopen(Path file) {
+    Path key = file.toAbsolutePath().normalize();
+    MappedTagIndex index = map(key);
+    OPEN.put(key, index);
+    return index;
+  }
+
+  private static MappedTagIndex map(Path file) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return new MappedTagIndex(file, channel.map(MapMode.READ_ONLY, 0, channel.size()));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Returns the amount of indexed items.
+   *
+   * @return the size
+   */
+  public int size() {
+    return size;
+  }
+
+  String getLabel(int entry) {
+    return readString(entry, 0);
+  }
+
+  String getKey(int entry) {
+    return readString(entry, 2);
+  }
+
+  /**
+   * Returns the entry of the first item with the given label, or -1.
+   */
+  int findLabel(String label) {
+    int lo = 0;
+    int hi = size;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (compare(mid, 0, label) < 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo < size && compare(lo, 0, label) == 0 ? lo : -1;
+  }
+
+  /**
+   * Returns the entry of the item with the given key, or -1.
+   */
+  int findKey(String key) {
+    int lo = 0;
+    int hi = size - 1;
+    while (lo <= hi) {
+      int mid = (lo + hi) >>> 1;
+      int entry = buffer.getInt(keyOrderOffset + mid * 4);
+      int comparison = compare(entry, 2, key);
+      if (comparison == 0) {
+        return entry;
+      } else if (comparison < 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid - 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Returns the entries whose lower case label contains the lower case text, in the order of the
+   * labels, found in the suffix table: the suffixes starting with the text are contiguous.
+   */
+  int[] findEntries(String needle) {
+    int lo = 0;
+    int hi = suffixCount;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (compareSuffix(mid, needle) < 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    int from = lo;
+    hi = suffixCount;
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      if (compareSuffix(mid, needle) <= 0) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    // a label containing the text several times has several suffixes
+    return IntStream.range(from, lo).map(suffix -> entryOf(suffixStart(suffix))).sorted()
+        .distinct().toArray();
+  }
+
+  /**
+   * Compares the suffix with the text, returning 0 when it starts with the text.
+   */
+  private int compareSuffix(int suffix, String needle) {
+    int start = suffixStart(suffix);
+    int entry = entryOf(start);
+    int length = stringStart(entry, 1) + stringLength(entry, 1) - start;
+    for (int i = 0; i < needle.length(); i++) {
+      if (i == length) {
+        return -1;
+      }
+      int difference = charAt(start + i) - needle.charAt(i);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return 0;
+  }
+
+  private int suffixStart(int suffix) {
+    return buffer.getInt(suffixesOffset + suffix * 4);
+  }
+
+  /**
+   * Returns the entry whose lower case label contains the position: the strings are written in the
+   * order of the entries, so the lower case labels start at increasing positions.
+   */
+  private int entryOf(int position) {
+    int lo = 0;
+    int hi = size - 1;
+    while (lo < hi) {
+      int mid = (lo + hi + 1) >>> 1;
+      if (stringStart(mid, 1) <= position) {
+        lo = mid;
+      } else {
+        hi = mid - 1;
+      }
+    }
+    return lo;
+  }
+
+  /**
+   * Finds the leftmost-longest, non overlapping occurrences of the labels in the text, as
+   * {@link TagCatalog#findTags(String, boolean)} does.
+   */
+  List<TagMatch> findTags(String text, boolean wordMatching) {
+    if (size == 0 || text == null) {
+      return new ArrayList<>();
+    }
+    SortedLabels labels = new Labels();
+    return TagMatcher.find(text,
+        index -> TagMatcher.longestMatch(labels, text, index, wordMatching, null));
+  }
+
+  private int compare(int entry, int field, String value) {
+    int start = stringStart(entry, field);
+    int length = stringLength(entry, field);
+    int common = Math.min(length, value.length());
+    for (int i = 0; i < common; i++) {
+      int difference = charAt(start + i) - value.charAt(i);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return length - value.length();
+  }
+
+  private String readString(int entry, int field) {
+    int start = stringStart(entry, field);
+    char[] chars = new char[stringLength(entry, field)];
+    for (int i = 0; i < chars.length; i++) {
+      chars[i] = charAt(start + i);
+    }
+    return new String(chars);
+  }
+
+  private int stringStart(int entry, int field) {
+    return buffer.getInt(HEADER_SIZE + entry * ENTRY_SIZE + field * 8);
+  }
+
+  private int stringLength(int entry, int field) {
+    return buffer.getInt(HEADER_SIZE + entry * ENTRY_SIZE + field * 8 + 4);
+  }
+
+  private char charAt(int position) {
+    return buffer.getChar(charsOffset + position * 2);
+  }
+
+  private Object writeReplace() {
+    return new Handle(path);
+  }
+
+  /**
+   * Serialized form of an index, resolved by opening the file again.
+   */
+  private static final class Handle implements Serializable {
+
+    private final String path;
+
+    private Handle(String path) {
+      this.path = path;
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+      try {
+        return open(Paths.get(path));
+      } catch (UncheckedIOException e) {
+        InvalidObjectException exception =
+            new InvalidObjectException("Cannot open the tag index " + path);
+        exception.initCause(e);
+        throw exception;
+      }
+    }
+  }
+
+  /**
+   * The labels of the entries, read in place from the file.
+   */
+  private final class Labels implements SortedLabels {
+
+    @Override
+    public int labelCount() {
+      return size;
+    }
+
+    @Override
+    public int labelLength(int label) {
+      return stringLength(label, 0);
+    }
+
+    @Override
+    public char labelCharAt(int label, int index) {
+      return charAt(stringStart(label, 0) + index);
+    }
+  }
+}
@@ -0,0 +1,186 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.flow.function.SerializableFunction;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A {@link TagSource} backed by a {@link MappedTagIndex}, for catalogs too large for building
+ * their index at startup or keeping it in the heap. The index only contains the labels and the
+ * keys, the items are resolved by key when they are returned, e.g. from a cache or a directory.
+ *
+ * <pre>
+ * MappedTagIndex.write(loadUsers(), User::getName, User::getId, indexFile); // offline
+ * TagSource&lt;User&gt; users = new MappedTagSource&lt;&gt;(MappedTagIndex.open(indexFile),
+ *     userService::findById, User::getId);
+ * </pre>
+ *
+ * <p>The items are searched in the order of their labels. The labels containing the filter text
+ * are found with a binary search in the suffix table of the index, and the matches of the last
+ * filter text are kept, so counting them and fetching their pages, as the selectors do for every
+ * typed character, finds them once.
+ *
+ * <p>Entries whose item cannot be resolved, e.g. removed after the index was written, are skipped
+ * before paging, so they never shorten a page. Finding them requires resolving the items of the
+ * previous pages, which is done once when the pages are fetched in order, as the selectors do.
+ * Until the last page of a filter text has been fetched, they are included in the count.
+ *
+ * @param <T> the type of the items
+ */
+@SuppressWarnings("serial")
+public class MappedTagSource<T> implements TagSource<T> {
+
+  private final MappedTagIndex index;
+  private final SerializableFunction<String, T> itemResolver;
+  private final SerializableFunction<T, String> keyGenerator;
+  private transient volatile Matches lastMatches;
+  private transient volatile Cursor lastCursor;
+
+  /**
+   * Creates a source backed by the given index.
+   *
+   * @param index the index
+   * @param itemResolver the function returning the item with the given key
+   * @param keyGenerator the function generating the key of an item, as used when the index was
+   *        written
+   */
+  public MappedTagSource(MappedTagIndex index, SerializableFunction<String, T> itemResolver,
+      SerializableFunction<T, String> keyGenerator) {
+    this.index = Objects.requireNonNull(index, "Index cannot be null");
+    this.itemResolver = Objects.requireNonNull(itemResolver, "Item resolver cannot be null");
+    this.keyGenerator = Objects.requireNonNull(keyGenerator, "Key generator cannot be null");
+  }
+
+  /**
+   * Returns the index backing this source.
+   *
+   * @return the index
+   */
+  public MappedTagIndex getIndex() {
+    return index;
+  }
+
+  @Override
+  public Stream<T> search(String filterText, int offset, int limit) {
+    String needle = filterText == null ? "" : filterText.toLowerCase();
+    int[] entries = needle.isEmpty() ? null : matching(needle);
+    int entryCount = entries == null ? index.size() : entries.length;
+    // continue from the end of the previous page instead of resolving the items before it again
+    Cursor cursor = lastCursor;
+    boolean continues = cursor != null && cursor.needle.equals(needle) && cursor.offset <= offset;
+    int resolved = continues ? cursor.offset : 0;
+    int position = continues ? cursor.position : 0;
+    List<T> page = new ArrayList<>();
+    for (; position < entryCount && page.size() < limit; position++) {
+      T item = itemResolver.apply(index.getKey(entries == null ? position : entries[position]));
+      if (item != null && resolved++ >= offset) {
+        page.add(item);
+      }
+    }
+    lastCursor = new Cursor(needle, resolved, position, position == entryCount);
+    return page.stream();
+  }
+
+  @Override
+  public int count(String filterText) {
+    String needle = filterText == null ? "" : filterText.toLowerCase();
+    Cursor cursor = lastCursor;
+    if (cursor != null && cursor.complete && cursor.needle.equals(needle)) {
+      // all the items were resolved, so the entries without an item are known
+      return cursor.offset;
+    }
+    return needle.isEmpty() ? index.size() : matching(needle).length;
+  }
+
+  private int[] matching(String needle) {
+    Matches matches = lastMatches;
+    if (matches == null || !matches.needle.equals(needle)) {
+      matches = new Matches(needle, index.findEntries(needle));
+      lastMatches = matches;
+    }
+    return matches.entries;
+  }
+
+  @Override
+  public Optional<T> findByKey(String key) {
+    return key == null || index.findKey(key) < 0 ? Optional.empty()
+        : Optional.ofNullable(itemResolver.apply(key));
+  }
+
+  @Override
+  public Optional<T> findByLabel(String label) {
+    int entry = label == null ? -1 : index.findLabel(label);
+    return entry < 0 ? Optional.empty() : Optional.ofNullable(itemResolver.apply(index.getKey(entry)));
+  }
+
+  @Override
+  public List<TagMatch> findTags(String text, boolean wordMatching) {
+    return index.findTags(text, wordMatching);
+  }
+
+  @Override
+  public String getLabel(T item) {
+    int entry = index.findKey(keyGenerator.apply(item));
+    return entry < 0 ? null : index.getLabel(entry);
+  }
+
+  @Override
+  public String getKey(T item) {
+    return keyGenerator.apply(item);
+  }
+
+  /**
+   * The entries matching a filter text.
+   */
+  private static final class Matches implements Serializable {
+
+    private final String needle;
+    private final int[] entries;
+
+    private Matches(String needle, int[] entries) {
+      this.needle = needle;
+      this.entries = entries;
+    }
+  }
+
+  /**
+   * The position of the entries after the items resolved for a filter text.
+   */
+  private static final class Cursor implements Serializable {
+
+    private final String needle;
+    private final int offset;
+    private final int position;
+    private final boolean complete;
+
+    private Cursor(String needle, int offset, int position, boolean complete) {
+      this.needle = needle;
+      this.offset = offset;
+      this.position = position;
+      this.complete = complete;
+    }
+  }
+}
@@ -0,0 +1,28 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+/**
+ * The {@link TaggableTextAreaMetrics#NOOP} metrics, an enum so it is still the same instance after
+ * deserialization, and the components can skip measuring by comparing their metrics with it.
+ */
+enum NoopTaggableTextAreaMetrics implements TaggableTextAreaMetrics {
+  INSTANCE
+}
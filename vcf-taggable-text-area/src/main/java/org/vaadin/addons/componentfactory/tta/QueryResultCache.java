@@ -0,0 +1,135 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.io.Serializable;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Application wide cache of the query results of a {@link SharedTagCatalog}, keyed by the catalog
+ * version and the normalized query, so users typing the same prefixes in different sessions share
+ * the results. Lookups never lock: the entries are kept in a concurrent map, and when it grows over
+ * its maximum size the least recently used tenth of the entries is evicted by a single thread
+ * while the others keep reading.
+ */
+@SuppressWarnings("serial")
+final class QueryResultCache implements Serializable {
+
+  private final int maxSize;
+  private final long timeToLiveNanos;
+  private final transient ConcurrentHashMap<List<Object>, CacheEntry> entries =
+      new ConcurrentHashMap<>();
+  private final transient AtomicBoolean evicting = new AtomicBoolean();
+
+  QueryResultCache(int maxSize, long timeToLiveNanos) {
+    this.maxSize = maxSize;
+    this.timeToLiveNanos = timeToLiveNanos;
+  }
+
+  int getMaxSize() {
+    return maxSize;
+  }
+
+  long getTimeToLiveNanos() {
+    return timeToLiveNanos;
+  }
+
+  /**
+   * Normalizes the filter text the same way {@link TagCatalog} does before matching it, so
+   * queries that only differ in case share their results.
+   */
+  static String normalize(String filterText) {
+    return filterText == null ? "" : filterText.toLowerCase();
+  }
+
+  /**
+   * Returns the cached value, loading it when missing or expired. Concurrent misses of the same
+   * key may load it more than once, which is cheaper than making the readers wait.
+   */
+  Object get(List<Object> key, Supplier<Object> loader) {
+    long now = System.nanoTime();
+    CacheEntry entry = entries.get(key);
+    if (entry != null && (timeToLiveNanos == 0 || now - entry.created <= timeToLiveNanos)) {
+      entry.lastAccess = now;
+      return entry.value;
+    }
+    Object value = loader.get();
+    entries.put(key, new CacheEntry(value, now));
+    if (entries.size() > maxSize) {
+      evict();
+    }
+    return value;
+  }
+
+  int size() {
+    return entries.size();
+  }
+
+  void clear() {
+    entries.clear();
+  }
+
+  private void evict() {
+    if (!evicting.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      long now = System.nanoTime();
+      if (timeToLiveNanos > 0) {
+        entries.values().removeIf(entry -> now - entry.created > timeToLiveNanos);
+      }
+      int excess = entries.size() - maxSize + Math.max(1, maxSize / 10);
+      if (excess <= 0) {
+        return;
+      }
+      long[] accesses = entries.values().stream().mapToLong(entry -> entry.lastAccess).sorted()
+          .toArray();
+      if (accesses.length == 0) {
+        return;
+      }
+      long threshold = accesses[Math.min(excess, accesses.length) - 1];
+      entries.values().removeIf(entry -> entry.lastAccess <= threshold);
+    } finally {
+      evicting.set(false);
+    }
+  }
+
+  /**
+   * The cached results are not serialized, a deserialized cache starts empty.
+   */
+  private Object readResolve() {
+    return new QueryResultCache(maxSize, timeToLiveNanos);
+  }
+
+  private static final class CacheEntry implements Serializable {
+    private final Object value;
+    private final long created;
+    private volatile long lastAccess;
+
+    private CacheEntry(Object value, long created) {
+      this.value = value;
+      this.created = created;
+      this.lastAccess = created;
+    }
+  }
+}
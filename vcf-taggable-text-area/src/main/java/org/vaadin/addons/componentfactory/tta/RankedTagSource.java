@@ -0,0 +1,123 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * A {@link TagSource} decorator listing first the most used items matching the filter text,
+ * according to {@link TagUsageStatistics}, followed by all the items in the order of the delegate.
+ * The most used items are matched by their lower case labels containing the lower case filter
+ * text, as {@link TagCatalog} does.
+ *
+ * <p>The most used items are listed again in their place among the items of the delegate, so the
+ * pages of the delegate are fetched at the requested offset, shifted by the amount of the most
+ * used items, instead of skipping the most used items in all the previous pages.
+ */
+@SuppressWarnings("serial")
+final class RankedTagSource<T> implements TagSource<T> {
+
+  private final TagSource<T> delegate;
+  private final TagUsageStatistics statistics;
+  private final String userId;
+  private final int rankedCount;
+
+  RankedTagSource(TagSource<T> delegate, TagUsageStatistics statistics, String userId,
+      int rankedCount) {
+    this.delegate = delegate;
+    this.statistics = statistics;
+    this.userId = userId;
+    this.rankedCount = rankedCount;
+  }
+
+  /**
+   * Returns the most used items whose label contains the filter text, the most used first.
+   */
+  List<T> getRankedItems(String filterText) {
+    String needle = filterText == null ? "" : filterText.toLowerCase();
+    List<T> ranked = new ArrayList<>();
+    for (String key : statistics.getTopKeys(userId, rankedCount)) {
+      delegate.findByKey(key).ifPresent(item -> {
+        String label = delegate.getLabel(item);
+        if (label != null && label.toLowerCase().contains(needle)) {
+          ranked.add(item);
+        }
+      });
+    }
+    return ranked;
+  }
+
+  @Override
+  public Stream<T> search(String filterText, int offset, int limit) {
+    List<T> ranked = getRankedItems(filterText);
+    if (ranked.isEmpty()) {
+      return delegate.search(filterText, offset, limit);
+    }
+    int from = Math.min(offset, ranked.size());
+    int to = (int) Math.min((long) offset + limit, ranked.size());
+    Stream<T> head = ranked.subList(from, to).stream();
+    int restLimit = limit - (to - from);
+    if (restLimit == 0) {
+      return head;
+    }
+    int restOffset = Math.max(0, offset - ranked.size());
+    return Stream.concat(head, delegate.search(filterText, restOffset, restLimit));
+  }
+
+  @Override
+  public int count(String filterText) {
+    return getRankedItems(filterText).size() + delegate.count(filterText);
+  }
+
+  @Override
+  public Optional<T> findByKey(String key) {
+    return delegate.findByKey(key);
+  }
+
+  @Override
+  public Optional<T> findByLabel(String label) {
+    return delegate.findByLabel(label);
+  }
+
+  @Override
+  public Map<String, T> findByLabels(Collection<String> labels) {
+    return delegate.findByLabels(labels);
+  }
+
+  @Override
+  public List<TagMatch> findTags(String text, boolean wordMatching) {
+    return delegate.findTags(text, wordMatching);
+  }
+
+  @Override
+  public String getLabel(T item) {
+    return delegate.getLabel(item);
+  }
+
+  @Override
+  public String getKey(T item) {
+    return delegate.getKey(item);
+  }
+}
@@ -0,0 +1,215 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable text made of a balanced tree of small chunks, used for keeping the history of the
+ * content of {@link TaggableTextArea}. An edit copies only the path from the root to the edited
+ * chunks, O(log n), and shares the rest of the tree with the previous version, so keeping many
+ * versions of a long document costs little more than the edits themselves.
+ */
+@SuppressWarnings("serial")
+final class Rope implements Serializable {
+
+  static final Rope EMPTY = new Rope("");
+
+  private static final int LEAF_SIZE = 512;
+  private static final int MAX_DEPTH = 48;
+
+  private final String leaf;
+  private final Rope left;
+  private final Rope right;
+  private final int length;
+  private final int depth;
+
+  private Rope(String leaf) {
+    this.leaf = leaf;
+    this.left = null;
+    this.right = null;
+    this.length = leaf.length();
+    this.depth = 0;
+  }
+
+  private Rope(Rope left, Rope right) {
+    this.leaf = null;
+    this.left = left;
+    this.right = right;
+    this.length = left.length + right.length;
+    this.depth = Math.max(left.depth, right.depth) + 1;
+  }
+
+  /**
+   * Creates a balanced rope with the given text.
+   *
+   * @param text the text, null for an empty rope
+   * @return the rope
+   */
+  static Rope of(String text) {
+    return text == null || text.isEmpty() ? EMPTY : build(text, 0, text.length());
+  }
+
+  private static Rope build(String text, int start, int end) {
+    if (end - start <= LEAF_SIZE) {
+      return new Rope(text.substring(start, end));
+    }
+    int middle = (start + end) >>> 1;
+    return new Rope(build(text, start, middle), build(text, middle, end));
+  }
+
+  int length() {
+    return length;
+  }
+
+  int depth() {
+    return depth;
+  }
+
+  /**
+   * Returns the part of this rope between the given positions, sharing the chunks that are not
+   * cut.
+   */
+  Rope substring(int start, int end) {
+    if (start < 0 || end > length || start > end) {
+      throw new IndexOutOfBoundsException("Invalid range " + start + "-" + end + " of " + length);
+    }
+    if (start == 0 && end == length) {
+      return this;
+    }
+    if (start == end) {
+      return EMPTY;
+    }
+    if (leaf != null) {
+      return new Rope(leaf.substring(start, end));
+    }
+    int split = left.length;
+    if (end <= split) {
+      return left.substring(start, end);
+    }
+    if (start >= split) {
+      return right.substring(start - split, end - split);
+    }
+    return left.substring(start, split).concat(right.substring(0, end - split));
+  }
+
+  /**
+   * Returns this rope followed by the given one, merging small chunks and rebalancing the tree
+   * when it gets too deep.
+   */
+  Rope concat(Rope other) {
+    if (other.length == 0) {
+      return this;
+    }
+    if (length == 0) {
+      return other;
+    }
+    if (length + other.length <= LEAF_SIZE) {
+      return new Rope(toString() + other);
+    }
+    if (leaf == null && other.leaf != null && right.leaf != null
+        && right.length + other.length <= LEAF_SIZE) {
+      return balance(new Rope(left, new Rope(right.leaf + other.leaf)));
+    }
+    return balance(new Rope(this, other));
+  }
+
+  /**
+   * Returns a rope with the text between the given positions replaced.
+   */
+  Rope replace(int start, int end, String text) {
+    return substring(0, start).concat(of(text)).concat(substring(end, length));
+  }
+
+  /**
+   * Applies to this rope, whose text is {@code before}, the edit that turns {@code before} into
+   * {@code after}: the part between their common prefix and suffix is replaced, so a typical edit
+   * shares almost all the chunks with this rope.
+   *
+   * @param before the text of this rope
+   * @param after the edited text
+   * @return the edited rope
+   */
+  Rope apply(String before, String after) {
+    int beforeLength = before.length();
+    int afterLength = after.length();
+    int common = Math.min(beforeLength, afterLength);
+    int prefix = 0;
+    while (prefix < common && before.charAt(prefix) == after.charAt(prefix)) {
+      prefix++;
+    }
+    int suffix = 0;
+    while (suffix < common - prefix
+        && before.charAt(beforeLength - 1 - suffix) == after.charAt(afterLength - 1 - suffix)) {
+      suffix++;
+    }
+    if (prefix == beforeLength && prefix == afterLength) {
+      return this;
+    }
+    return replace(prefix, beforeLength - suffix, after.substring(prefix, afterLength - suffix));
+  }
+
+  private static Rope balance(Rope rope) {
+    if (rope.depth <= MAX_DEPTH) {
+      return rope;
+    }
+    List<Rope> leaves = new ArrayList<>();
+    rope.collectLeaves(leaves);
+    return build(leaves, 0, leaves.size());
+  }
+
+  private void collectLeaves(List<Rope> leaves) {
+    if (leaf != null) {
+      leaves.add(this);
+    } else {
+      left.collectLeaves(leaves);
+      right.collectLeaves(leaves);
+    }
+  }
+
+  private static Rope build(List<Rope> leaves, int start, int end) {
+    if (end - start == 1) {
+      return leaves.get(start);
+    }
+    int middle = (start + end) >>> 1;
+    return new Rope(build(leaves, start, middle), build(leaves, middle, end));
+  }
+
+  private void appendTo(StringBuilder text) {
+    if (leaf != null) {
+      text.append(leaf);
+    } else {
+      left.appendTo(text);
+      right.appendTo(text);
+    }
+  }
+
+  @Override
+  public String toString() {
+    if (leaf != null) {
+      return leaf;
+    }
+    StringBuilder text = new StringBuilder(length);
+    appendTo(text);
+    return text.toString();
+  }
+}
@@ -0,0 +1,339 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.flow.function.SerializableConsumer;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.shared.Registration;
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Application scoped holder of the current {@link TagCatalog}, meant to be shared by all the
+ * components using the same items, for example all the editors of a grid in every session.
+ *
+ * <p>Every query is answered by the catalog that is current when it is made. Updates are published
+ * as new immutable catalogs (copy on write), so readers never lock and never see a partially
+ * updated catalog.
+ *
+ * <pre>
+ * SharedTagCatalog&lt;User&gt; users = new SharedTagCatalog&lt;&gt;(TagCatalog.of(loadUsers(), User::getName));
+ * TaggableTextArea&lt;User&gt; editor = new TaggableTextArea&lt;&gt;(users);
+ * ...
+ * users.publish(loadUsers());
+ * </pre>
+ *
+ * <p>A catalog created with a name is registered in a static registry, and serialized as a handle
+ * containing only its name, which is resolved to the catalog registered with the same name when
+ * deserialized. This keeps the items out of the serialized sessions, e.g. when sessions are
+ * replicated, but requires every node to register its own catalog with the same name at startup.
+ * Catalogs without a name are serialized with their items, as any other {@link TagSource}.
+ *
+ * <p>The results of {@link #search(String, int, int)} and {@link #count(String)} can be cached for
+ * the whole application with {@link #enableQueryCache(int, Duration)}, so the selectors of every
+ * session share the results of the prefixes typed by their users.
+ *
+ * @param <T> the type of the items
+ */
+@SuppressWarnings("serial")
+public class SharedTagCatalog<T> implements TagSource<T> {
+
+  private static final Map<String, SharedTagCatalog<?>> REGISTRY = new ConcurrentHashMap<>();
+
+  private final String name;
+  private final AtomicReference<TagCatalog<T>> current;
+  private final List<SerializableConsumer<TagCatalog<T>>> updateListeners =
+      new CopyOnWriteArrayList<>();
+  private volatile QueryResultCache queryCache;
+
+  /**
+   * Creates a shared catalog.
+   *
+   * @param catalog the initial catalog
+   */
+  public SharedTagCatalog(TagCatalog<T> catalog) {
+    this.name = null;
+    current = new AtomicReference<>(Objects.requireNonNull(catalog, "Catalog cannot be null"));
+  }
+
+  /**
+   * Creates a shared catalog and registers it with the given name, replacing the catalog
+   * registered before with the same name, if any.
+   *
+   * @param name the name of the catalog, unique within the application
+   * @param catalog the initial catalog
+   */
+  public SharedTagCatalog(String name, TagCatalog<T> catalog) {
+    this.name = Objects.requireNonNull(name, "Name cannot be null");
+    current = new AtomicReference<>(Objects.requireNonNull(catalog, "Catalog cannot be null"));
+    REGISTRY.put(name, this);
+  }
+
+  /**
+   * Returns the catalog registered with the given name.
+   *
+   * @param <T> the type of the items
+   * @param name the name of the catalog
+   * @return the catalog, or an empty optional if no catalog is registered with the name
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> Optional<SharedTagCatalog<T>> find(String name) {
+    return Optional.ofNullable((SharedTagCatalog<T>) REGISTRY.get(name));
+  }
+
+  /**
+   * Removes this catalog from the registry, so it can be garbage collected. Sessions referencing it
+   * cannot be deserialized afterwards.
+   */
+  public void unregister() {
+    if (name != null) {
+      REGISTRY.remove(name, this);
+    }
+  }
+
+  /**
+   * Returns the name of this catalog.
+   *
+   * @return the name, null if the catalog is not registered
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Returns the current catalog.
+   *
+   * @return the current catalog
+   */
+  public TagCatalog<T> get() {
+    return current.get();
+  }
+
+  /**
+   * Publishes a new version of the catalog containing the given items.
+   *
+   * @param items the items of the new catalog
+   * @return the published catalog
+   */
+  public TagCatalog<T> publish(Collection<T> items) {
+    return update(catalog -> catalog.withItems(items));
+  }
+
+  /**
+   * Publishes a new version of the catalog with the given items added, without rebuilding the
+   * lookup structures of the current one.
+   *
+   * @param items the items to add
+   * @return the published catalog
+   * @see TagCatalog#withAddedItems(Collection)
+   */
+  public TagCatalog<T> addItems(Collection<T> items) {
+    return update(catalog -> catalog.withAddedItems(items));
+  }
+
+  /**
+   * Publishes a new version of the catalog without the given items, without rebuilding the lookup
+   * structures of the current one.
+   *
+   * @param items the items to remove
+   * @return the published catalog
+   * @see TagCatalog#withRemovedItems(Collection)
+   */
+  public TagCatalog<T> removeItems(Collection<T> items) {
+    return update(catalog -> catalog.withRemovedItems(items));
+  }
+
+  /**
+   * Publishes a new version of the catalog created from the current one. The function may be
+   * called more than once if other updates are published concurrently, so it should not have side
+   * effects.
+   *
+   * @param updater the function creating the new catalog from the current one
+   * @return the published catalog
+   */
+  public TagCatalog<T> update(SerializableFunction<TagCatalog<T>, TagCatalog<T>> updater) {
+    TagCatalog<T> previous;
+    TagCatalog<T> next;
+    do {
+      previous = current.get();
+      next = Objects.requireNonNull(updater.apply(previous), "Updated catalog cannot be null");
+    } while (!current.compareAndSet(previous, next));
+    QueryResultCache cache = queryCache;
+    if (cache != null) {
+      // the results of the previous versions cannot be requested anymore
+      cache.clear();
+    }
+    for (SerializableConsumer<TagCatalog<T>> listener : updateListeners) {
+      listener.accept(next);
+    }
+    return next;
+  }
+
+  /**
+   * Adds a listener notified after every published update, in the thread publishing it. As the
+   * shared catalog usually outlives the components, listeners registered by a component should
+   * be removed when it is detached.
+   *
+   * @param listener the listener
+   * @return a registration for removing the listener
+   */
+  public Registration addUpdateListener(SerializableConsumer<TagCatalog<T>> listener) {
+    updateListeners.add(listener);
+    return () -> updateListeners.remove(listener);
+  }
+
+  /**
+   * Enables the application wide cache of the query results, replacing the previous cache if it
+   * was already enabled. The results are cached by catalog version and by lower case filter text,
+   * so they are never stale after an update is published. Lookups do not lock, and when the cache
+   * is full the least recently used results are evicted.
+   *
+   * @param maxSize the maximum amount of cached results
+   * @param timeToLive how long a cached result is kept, or null if they do not expire
+   */
+  public void enableQueryCache(int maxSize, Duration timeToLive) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("Maximum size must be positive");
+    }
+    queryCache = new QueryResultCache(maxSize, timeToLive == null ? 0 : timeToLive.toNanos());
+  }
+
+  /**
+   * Disables the cache of the query results, discarding the cached results.
+   */
+  public void disableQueryCache() {
+    queryCache = null;
+  }
+
+  /**
+   * Returns the amount of cached query results.
+   *
+   * @return the cache size, 0 if the cache is not enabled
+   */
+  public int getQueryCacheSize() {
+    QueryResultCache cache = queryCache;
+    return cache == null ? 0 : cache.size();
+  }
+
+  /**
+   * Returns the version of the current catalog.
+   *
+   * @return the version
+   */
+  public long getVersion() {
+    return get().getVersion();
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public Stream<T> search(String filterText, int offset, int limit) {
+    TagCatalog<T> catalog = get();
+    QueryResultCache cache = queryCache;
+    if (cache == null) {
+      return catalog.search(filterText, offset, limit);
+    }
+    String query = QueryResultCache.normalize(filterText);
+    List<T> page = (List<T>) cache.get(
+        Arrays.asList(catalog.getVersion(), "search", query, offset, limit),
+        () -> Collections.unmodifiableList(
+            catalog.search(query, offset, limit).collect(Collectors.toList())));
+    return page.stream();
+  }
+
+  @Override
+  public int count(String filterText) {
+    TagCatalog<T> catalog = get();
+    QueryResultCache cache = queryCache;
+    if (cache == null) {
+      return catalog.count(filterText);
+    }
+    String query = QueryResultCache.normalize(filterText);
+    return (Integer) cache.get(Arrays.asList(catalog.getVersion(), "count", query),
+        () -> catalog.count(query));
+  }
+
+  @Override
+  public Optional<T> findByKey(String key) {
+    return get().findByKey(key);
+  }
+
+  @Override
+  public Optional<T> findByLabel(String label) {
+    return get().findByLabel(label);
+  }
+
+  @Override
+  public Map<String, T> findByLabels(Collection<String> labels) {
+    return get().findByLabels(labels);
+  }
+
+  @Override
+  public List<TagMatch> findTags(String text, boolean wordMatching) {
+    return get().findTags(text, wordMatching);
+  }
+
+  @Override
+  public String getLabel(T item) {
+    return get().getLabel(item);
+  }
+
+  @Override
+  public String getKey(T item) {
+    return get().getKey(item);
+  }
+
+  private Object writeReplace() {
+    return name == null ? this : new Handle(name);
+  }
+
+  /**
+   * Serialized form of a named catalog.
+   */
+  private static final class Handle implements Serializable {
+
+    private final String name;
+
+    private Handle(String name) {
+      this.name = name;
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+      SharedTagCatalog<?> catalog = REGISTRY.get(name);
+      if (catalog == null) {
+        throw new InvalidObjectException("No shared tag catalog registered with the name " + name);
+      }
+      return catalog;
+    }
+  }
+}
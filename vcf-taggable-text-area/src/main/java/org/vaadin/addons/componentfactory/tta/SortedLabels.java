@@ -0,0 +1,44 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.io.Serializable;
+
+/**
+ * Labels sorted in ascending order, read in place by {@link TagMatcher} while matching, so they do
+ * not need to be loaded as strings.
+ */
+interface SortedLabels extends Serializable {
+
+  /**
+   * Returns the amount of labels.
+   */
+  int labelCount();
+
+  /**
+   * Returns the length of the label at the given index.
+   */
+  int labelLength(int label);
+
+  /**
+   * Returns a character of the label at the given index.
+   */
+  char labelCharAt(int label, int index);
+}
@@ -0,0 +1,397 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.flow.function.SerializableFunction;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, versioned catalog of the items that can be used as tags.
+ *
+ * <p>The catalog holds the items together with the structures derived from them: the items by
+ * label and by key, the lower case labels used by {@link #search(String, int, int)} and the
+ * matcher used by {@link #findTags(String, boolean)}. As it never changes, a single catalog can be
+ * shared by any amount of components, in any amount of sessions, so the memory used grows with
+ * the size of the catalog and not with the amount of open editors. The derived structures are
+ * built on the first query.
+ *
+ * <p>Changes are made by creating a new catalog, which gets the next version, with
+ * {@link #withItems(Collection)}, {@link #withAddedItems(Collection)} or
+ * {@link #withRemovedItems(Collection)}. Use {@link SharedTagCatalog} to publish the new versions
+ * to the components sharing the catalog.
+ *
+ * <p>Adding or removing items does not rebuild the derived structures: the new catalog shares them
+ * with the previous one, and keeps the added items and the keys of the removed ones in a small
+ * overlay that is consulted on every query. The overlay is merged into new structures when it
+ * grows beyond a few times the square root of the catalog size, so the cost of a change stays well
+ * below the cost of a rebuild, also amortized.
+ *
+ * @param <T> the type of the items
+ */
+@SuppressWarnings("serial")
+public final class TagCatalog<T> implements TagSource<T> {
+
+  private final long version;
+  private final List<T> baseItems;
+  private final List<T> addedItems;
+  private final Set<String> removedKeys;
+  private final SerializableFunction<T, String> labelGenerator;
+  private final SerializableFunction<T, String> keyGenerator;
+  private transient volatile Index<T> baseIndex;
+  private transient volatile Overlay<T> overlay;
+
+  private TagCatalog(long version, List<T> baseItems, List<T> addedItems, Set<String> removedKeys,
+      SerializableFunction<T, String> labelGenerator, SerializableFunction<T, String> keyGenerator,
+      Index<T> baseIndex) {
+    this.version = version;
+    this.baseItems = baseItems;
+    this.addedItems = addedItems;
+    this.removedKeys = removedKeys;
+    this.labelGenerator = labelGenerator;
+    this.keyGenerator = keyGenerator;
+    this.baseIndex = baseIndex;
+  }
+
+  /**
+   * Creates the first version of a catalog, using the labels as keys.
+   *
+   * @param <T> the type of the items
+   * @param items the items of the catalog
+   * @param labelGenerator the function generating the label of an item
+   * @return the catalog
+   */
+  public static <T> TagCatalog<T> of(Collection<T> items,
+      SerializableFunction<T, String> labelGenerator) {
+    return of(items, labelGenerator, labelGenerator);
+  }
+
+  /**
+   * Creates the first version of a catalog.
+   *
+   * @param <T> the type of the items
+   * @param items the items of the catalog
+   * @param labelGenerator the function generating the label of an item
+   * @param keyGenerator the function generating the key of an item
+   * @return the catalog
+   */
+  public static <T> TagCatalog<T> of(Collection<T> items,
+      SerializableFunction<T, String> labelGenerator, SerializableFunction<T, String> keyGenerator) {
+    Objects.requireNonNull(labelGenerator, "Label generator cannot be null");
+    Objects.requireNonNull(keyGenerator, "Key generator cannot be null");
+    return new TagCatalog<>(1, copyOf(items), Collections.emptyList(), Collections.emptySet(),
+        labelGenerator, keyGenerator, null);
+  }
+
+  /**
+   * Creates the next version of this catalog, containing the given items. This catalog is not
+   * modified.
+   *
+   * @param items the items of the new catalog
+   * @return the new catalog
+   */
+  public TagCatalog<T> withItems(Collection<T> items) {
+    return new TagCatalog<>(version + 1, copyOf(items), Collections.emptyList(),
+        Collections.emptySet(), labelGenerator, keyGenerator, null);
+  }
+
+  /**
+   * Creates the next version of this catalog, with the given items added. An added item replaces
+   * the item with the same key, if any. This catalog is not modified.
+   *
+   * @param items the items to add
+   * @return the new catalog
+   */
+  public TagCatalog<T> withAddedItems(Collection<T> items) {
+    Set<String> keys = keysOf(items);
+    List<T> added = new ArrayList<>(addedItems.size() + items.size());
+    for (T item : addedItems) {
+      if (!keys.contains(keyGenerator.apply(item))) {
+        added.add(item);
+      }
+    }
+    added.addAll(items);
+    // hide the base items being replaced
+    Set<String> removed = new HashSet<>(removedKeys);
+    removed.addAll(keys);
+    return derive(added, removed);
+  }
+
+  /**
+   * Creates the next version of this catalog, without the items having the same keys as the given
+   * ones. This catalog is not modified.
+   *
+   * @param items the items to remove
+   * @return the new catalog
+   */
+  public TagCatalog<T> withRemovedItems(Collection<T> items) {
+    Set<String> keys = keysOf(items);
+    List<T> added = new ArrayList<>(addedItems.size());
+    for (T item : addedItems) {
+      if (!keys.contains(keyGenerator.apply(item))) {
+        added.add(item);
+      }
+    }
+    Set<String> removed = new HashSet<>(removedKeys);
+    removed.addAll(keys);
+    return derive(added, removed);
+  }
+
+  private TagCatalog<T> derive(List<T> added, Set<String> removed) {
+    if (added.size() + removed.size() > compactionThreshold(baseItems.size())) {
+      List<T> items = new ArrayList<>(baseItems.size() + added.size());
+      for (T item : baseItems) {
+        if (!removed.contains(keyGenerator.apply(item))) {
+          items.add(item);
+        }
+      }
+      items.addAll(added);
+      return new TagCatalog<>(version + 1, Collections.unmodifiableList(items),
+          Collections.emptyList(), Collections.emptySet(), labelGenerator, keyGenerator, null);
+    }
+    return new TagCatalog<>(version + 1, baseItems, Collections.unmodifiableList(added),
+        Collections.unmodifiableSet(removed), labelGenerator, keyGenerator, baseIndex);
+  }
+
+  private static int compactionThreshold(int size) {
+    return Math.max(32, 4 * (int) Math.sqrt(size));
+  }
+
+  private Set<String> keysOf(Collection<T> items) {
+    Set<String> keys = new HashSet<>();
+    for (T item : items) {
+      keys.add(keyGenerator.apply(item));
+    }
+    return keys;
+  }
+
+  private static <T> List<T> copyOf(Collection<T> items) {
+    Objects.requireNonNull(items, "Items cannot be null");
+    return Collections.unmodifiableList(new ArrayList<>(items));
+  }
+
+  /**
+   * Returns the version of this catalog, incremented by every change.
+   *
+   * @return the version
+   */
+  public long getVersion() {
+    return version;
+  }
+
+  /**
+   * Returns the items of this catalog. After items have been added or removed the list is
+   * assembled on every call, so prefer the queries when possible.
+   *
+   * @return an unmodifiable list of the items
+   */
+  public List<T> getItems() {
+    if (addedItems.isEmpty() && removedKeys.isEmpty()) {
+      return baseItems;
+    }
+    return Collections.unmodifiableList(
+        search("", 0, Integer.MAX_VALUE).collect(Collectors.toList()));
+  }
+
+  /**
+   * Returns the amount of items of this catalog.
+   *
+   * @return the size
+   */
+  public int size() {
+    return baseItems.size() - getOverlay().removedFromBase + addedItems.size();
+  }
+
+  @Override
+  public Stream<T> search(String filterText, int offset, int limit) {
+    String needle = filterText == null ? "" : filterText.toLowerCase();
+    Index<T> base = getBaseIndex();
+    Stream<T> result = IntStream.range(0, base.lowerCaseLabels.length)
+        .filter(i -> base.lowerCaseLabels[i].contains(needle)
+            && (removedKeys.isEmpty() || !removedKeys.contains(base.keys[i])))
+        .mapToObj(baseItems::get);
+    if (!addedItems.isEmpty()) {
+      Index<T> added = getOverlay().addedIndex;
+      result = Stream.concat(result, IntStream.range(0, added.lowerCaseLabels.length)
+          .filter(i -> added.lowerCaseLabels[i].contains(needle)).mapToObj(addedItems::get));
+    }
+    return result.skip(offset).limit(limit);
+  }
+
+  @Override
+  public int count(String filterText) {
+    String needle = filterText == null ? "" : filterText.toLowerCase();
+    Index<T> base = getBaseIndex();
+    int count = 0;
+    for (int i = 0; i < base.lowerCaseLabels.length; i++) {
+      if (base.lowerCaseLabels[i].contains(needle)
+          && (removedKeys.isEmpty() || !removedKeys.contains(base.keys[i]))) {
+        count++;
+      }
+    }
+    if (!addedItems.isEmpty()) {
+      for (String label : getOverlay().addedIndex.lowerCaseLabels) {
+        if (label.contains(needle)) {
+          count++;
+        }
+      }
+    }
+    return count;
+  }
+
+  @Override
+  public Optional<T> findByKey(String key) {
+    if (!addedItems.isEmpty()) {
+      T item = getOverlay().addedIndex.itemsByKey.get(key);
+      if (item != null) {
+        return Optional.of(item);
+      }
+    }
+    if (removedKeys.contains(key)) {
+      return Optional.empty();
+    }
+    return Optional.ofNullable(getBaseIndex().itemsByKey.get(key));
+  }
+
+  @Override
+  public Optional<T> findByLabel(String label) {
+    if (!addedItems.isEmpty() || !removedKeys.isEmpty()) {
+      Overlay<T> overlay = getOverlay();
+      T item = overlay.addedIndex.itemsByLabel.get(label);
+      if (item != null) {
+        return Optional.of(item);
+      }
+      if (overlay.removedLabels.contains(label)) {
+        return Optional.empty();
+      }
+    }
+    return Optional.ofNullable(getBaseIndex().itemsByLabel.get(label));
+  }
+
+  @Override
+  public List<TagMatch> findTags(String text, boolean wordMatching) {
+    if (addedItems.isEmpty() && removedKeys.isEmpty()) {
+      return getBaseIndex().matcher.find(text, wordMatching);
+    }
+    Overlay<T> overlay = getOverlay();
+    return TagMatcher.find(text, wordMatching, getBaseIndex().matcher, overlay.removedLabels,
+        overlay.addedIndex.matcher);
+  }
+
+  @Override
+  public String getLabel(T item) {
+    return labelGenerator.apply(item);
+  }
+
+  @Override
+  public String getKey(T item) {
+    return keyGenerator.apply(item);
+  }
+
+  private Index<T> getBaseIndex() {
+    // built on the first query, or once after deserialization
+    Index<T> result = baseIndex;
+    if (result == null) {
+      synchronized (this) {
+        result = baseIndex;
+        if (result == null) {
+          result = new Index<>(baseItems, labelGenerator, keyGenerator);
+          baseIndex = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  private Overlay<T> getOverlay() {
+    Overlay<T> result = overlay;
+    if (result == null) {
+      synchronized (this) {
+        result = overlay;
+        if (result == null) {
+          result = new Overlay<>(this);
+          overlay = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  private static final class Index<T> implements Serializable {
+    private final String[] lowerCaseLabels;
+    private final String[] keys;
+    private final Map<String, T> itemsByLabel;
+    private final Map<String, T> itemsByKey;
+    private final TagMatcher matcher;
+
+    private Index(List<T> items, SerializableFunction<T, String> labelGenerator,
+        SerializableFunction<T, String> keyGenerator) {
+      lowerCaseLabels = new String[items.size()];
+      keys = new String[items.size()];
+      itemsByLabel = new HashMap<>(items.size() * 4 / 3 + 1);
+      itemsByKey = new HashMap<>(items.size() * 4 / 3 + 1);
+      for (int i = 0; i < items.size(); i++) {
+        T item = items.get(i);
+        String label = labelGenerator.apply(item);
+        lowerCaseLabels[i] = label.toLowerCase();
+        keys[i] = keyGenerator.apply(item);
+        itemsByLabel.putIfAbsent(label, item);
+        itemsByKey.putIfAbsent(keys[i], item);
+      }
+      matcher = new TagMatcher(itemsByLabel.keySet());
+    }
+  }
+
+  /**
+   * Structures derived from the added items and the removed keys, small enough to be built for
+   * every version.
+   */
+  private static final class Overlay<T> implements Serializable {
+    private final Index<T> addedIndex;
+    private final Set<String> removedLabels = new HashSet<>();
+    private final int removedFromBase;
+
+    private Overlay(TagCatalog<T> catalog) {
+      addedIndex = new Index<>(catalog.addedItems, catalog.labelGenerator, catalog.keyGenerator);
+      Map<String, T> baseItemsByKey = catalog.getBaseIndex().itemsByKey;
+      int removed = 0;
+      for (String key : catalog.removedKeys) {
+        T item = baseItemsByKey.get(key);
+        if (item != null) {
+          removedLabels.add(catalog.labelGenerator.apply(item));
+          removed++;
+        }
+      }
+      removedFromBase = removed;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.io.Serializable;
+
+/**
+ * An occurrence of a tag label inside a text, as found by {@link TagSource#findTags(String,
+ * boolean)}.
+ */
+@SuppressWarnings("serial")
+public final class TagMatch implements Serializable {
+
+  private final int start;
+  private final int end;
+  private final String label;
+  private final TagTrigger<?> trigger;
+
+  /**
+   * Creates a new match.
+   *
+   * @param start the index of the first character of the label in the text
+   * @param end the index after the last character of the label in the text
+   * @param label the matched label
+   */
+  public TagMatch(int start, int end, String label) {
+    this(start, end, label, null);
+  }
+
+  /**
+   * Creates a new match of a tag typed with a {@link TagTrigger}, whose character precedes the
+   * label in the text.
+   *
+   * @param start the index of the trigger character in the text
+   * @param end the index after the last character of the label in the text
+   * @param label the matched label, without the trigger character
+   * @param trigger the trigger of the tag, or null if the tag has no trigger character
+   */
+  public TagMatch(int start, int end, String label, TagTrigger<?> trigger) {
+    this.start = start;
+    this.end = end;
+    this.label = label;
+    this.trigger = trigger;
+  }
+
+  /**
+   * Returns the index of the first character of the tag in the text, which is the trigger
+   * character for tags with a {@link #getTrigger() trigger}.
+   *
+   * @return the start index
+   */
+  public int getStart() {
+    return start;
+  }
+
+  /**
+   * Returns the index after the last character of the label in the text.
+   *
+   * @return the end index
+   */
+  public int getEnd() {
+    return end;
+  }
+
+  /**
+   * Returns the matched label.
+   *
+   * @return the label
+   */
+  public String getLabel() {
+    return label;
+  }
+
+  /**
+   * Returns the trigger of the tag, when it was typed with a {@link TagTrigger} other than the
+   * default one of the component.
+   *
+   * @return the trigger, or null if the tag has no trigger character
+   */
+  public TagTrigger<?> getTrigger() {
+    return trigger;
+  }
+
+  @Override
+  public String toString() {
+    return "TagMatch[" + start + "," + end + "," + (trigger == null ? "" : trigger.getCharacter())
+        + label + "]";
+  }
+}
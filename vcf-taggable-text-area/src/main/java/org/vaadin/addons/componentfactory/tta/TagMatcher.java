@@ -0,0 +1,197 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Finds the occurrences of a set of labels inside a text in a single pass.
+ *
+ * <p>The labels are kept as a sorted array, which is walked like a trie: at every position of the
+ * text the range of labels sharing the already matched prefix is narrowed with a binary search per
+ * character. When several labels match at the same position the longest one wins, and matching
+ * continues after it, so matches never overlap.
+ *
+ * <p>Instances are immutable and can be shared between threads.
+ */
+@SuppressWarnings("serial")
+final class TagMatcher implements SortedLabels {
+
+  private final String[] labels;
+
+  TagMatcher(Collection<String> labels) {
+    this.labels = labels.stream().filter(Objects::nonNull).filter(label -> !label.isEmpty())
+        .distinct().sorted().toArray(String[]::new);
+  }
+
+  /**
+   * Returns the amount of distinct labels known by this matcher.
+   */
+  int size() {
+    return labels.length;
+  }
+
+  /**
+   * Finds the leftmost-longest, non overlapping occurrences of the labels in the text.
+   *
+   * @param text the text to search
+   * @param wordMatching whether the labels should only match whole words
+   * @return the matches, ordered by their position in the text
+   */
+  List<TagMatch> find(String text, boolean wordMatching) {
+    return find(text, wordMatching, this, Collections.emptySet(), null);
+  }
+
+  /**
+   * Finds the leftmost-longest, non overlapping occurrences of the labels of two matchers in the
+   * text, as if they were a single matcher. Used to match a base set of labels, minus the removed
+   * ones, together with a small set of labels added afterwards, without rebuilding the base
+   * matcher.
+   *
+   * @param text the text to search
+   * @param wordMatching whether the labels should only match whole words
+   * @param base the matcher with the base labels
+   * @param excludedFromBase the labels of the base matcher that should be ignored
+   * @param added the matcher with the added labels, or null
+   * @return the matches, ordered by their position in the text
+   */
+  static List<TagMatch> find(String text, boolean wordMatching, TagMatcher base,
+      Set<String> excludedFromBase, TagMatcher added) {
+    boolean hasAdded = added != null && added.labels.length > 0;
+    if (base.labels.length == 0 && !hasAdded) {
+      return new ArrayList<>();
+    }
+    IntPredicate excluded =
+        excludedFromBase.isEmpty() ? null : label -> excludedFromBase.contains(base.labels[label]);
+    return find(text, index -> {
+      int end = longestMatch(base, text, index, wordMatching, excluded);
+      return hasAdded ? Math.max(end, longestMatch(added, text, index, wordMatching, null)) : end;
+    });
+  }
+
+  /**
+   * Finds the leftmost-longest, non overlapping matches in the text, given the end of the longest
+   * label starting at every position of the text, or -1 if there is none.
+   *
+   * @param text the text to search
+   * @param longestMatch the end of the longest label starting at a position
+   * @return the matches, ordered by their position in the text
+   */
+  static List<TagMatch> find(String text, IntUnaryOperator longestMatch) {
+    List<TagMatch> result = new ArrayList<>();
+    if (text == null || text.isEmpty()) {
+      return result;
+    }
+    int index = 0;
+    while (index < text.length()) {
+      int end = longestMatch.applyAsInt(index);
+      if (end > index) {
+        result.add(new TagMatch(index, end, text.substring(index, end)));
+        index = end;
+      } else {
+        index++;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the end of the longest of the sorted labels starting at the given position of the
+   * text, or -1 if there is none.
+   *
+   * @param labels the sorted labels
+   * @param text the text to search
+   * @param start the position of the text
+   * @param wordMatching whether the labels should only match whole words
+   * @param excluded tells whether the label at an index should be ignored, or null
+   * @return the end of the match, or -1
+   */
+  static int longestMatch(SortedLabels labels, CharSequence text, int start,
+      boolean wordMatching, IntPredicate excluded) {
+    if (labels.labelCount() == 0 || wordMatching && !isWordBoundary(text, start)) {
+      return -1;
+    }
+    int best = -1;
+    int lo = 0;
+    int hi = labels.labelCount();
+    for (int depth = 0; start + depth < text.length() && lo < hi; depth++) {
+      char c = text.charAt(start + depth);
+      lo = bound(labels, lo, hi, depth, c, false);
+      hi = bound(labels, lo, hi, depth, c, true);
+      // the shortest label of the range comes first, it matches when it ends here
+      if (lo < hi && labels.labelLength(lo) == depth + 1) {
+        int end = start + depth + 1;
+        if ((!wordMatching || isWordBoundary(text, end))
+            && (excluded == null || !excluded.test(lo))) {
+          best = end;
+        }
+      }
+    }
+    return best;
+  }
+
+  private static int bound(SortedLabels labels, int lo, int hi, int depth, char c,
+      boolean upper) {
+    while (lo < hi) {
+      int mid = (lo + hi) >>> 1;
+      int key = depth < labels.labelLength(mid) ? labels.labelCharAt(mid, depth) : -1;
+      if (key < c || upper && key == c) {
+        lo = mid + 1;
+      } else {
+        hi = mid;
+      }
+    }
+    return lo;
+  }
+
+  @Override
+  public int labelCount() {
+    return labels.length;
+  }
+
+  @Override
+  public int labelLength(int label) {
+    return labels[label].length();
+  }
+
+  @Override
+  public char labelCharAt(int label, int index) {
+    return labels[label].charAt(index);
+  }
+
+  /**
+   * Same semantics as the {@code \b} regular expression boundary.
+   */
+  static boolean isWordBoundary(CharSequence text, int index) {
+    boolean before = index > 0 && isWordChar(text.charAt(index - 1));
+    boolean after = index < text.length() && isWordChar(text.charAt(index));
+    return before != after;
+  }
+
+  private static boolean isWordChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '_';
+  }}
@@ -0,0 +1,734 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.flow.function.SerializableFunction;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.jsoup.Jsoup;
+
+/**
+ * Finds, decorates and extracts the tags of {@link TaggableTextArea} values without a component, a
+ * {@link com.vaadin.flow.component.UI} or a session, e.g. for reindexing stored values in a batch
+ * job.
+ *
+ * <p>A processor is immutable and thread-safe, as long as its {@link TagSource} is, which is the
+ * case of {@link TagCatalog}, {@link InMemoryTagSource} and {@link SharedTagCatalog}. The label
+ * index of the source is built once and reused by all the documents, also when they are processed
+ * in parallel with {@link #processAll(Stream, Function)}.
+ *
+ * <pre>
+ * TagProcessor&lt;User&gt; processor = TagProcessor.of(users, User::getName);
+ * processor.processAll(notes.stream(), processor::extractItems).forEachOrdered(...);
+ * </pre>
+ *
+ * @param <T> the type of the items used as tags
+ */
+@SuppressWarnings("serial")
+public class TagProcessor<T> implements Serializable {
+
+  private static final Pattern TAG_SPAN =
+      Pattern.compile("<span class=\"mention-highlight[^\"]*\"[^>]*>([^<]*)</span>");
+  private static final String BR = "<br/>";
+  private static final String BR_MARKER = "@@br@@";
+  private static final String INLINE_STYLE = "display: inline;";
+  private static final String[] RAW_TEXT_ELEMENTS =
+      {"script", "style", "template", "textarea", "title", "iframe", "noscript", "object", "svg"};
+
+  private final TagSource<T> tagSource;
+  private final boolean wordMatching;
+  private final List<TagTrigger<?>> triggers;
+
+  /**
+   * Creates a processor finding the tags with the given source, without word matching.
+   *
+   * @param tagSource the source of the items used as tags
+   */
+  public TagProcessor(TagSource<T> tagSource) {
+    this(tagSource, false);
+  }
+
+  /**
+   * Creates a processor finding the tags with the given source.
+   *
+   * @param tagSource the source of the items used as tags
+   * @param wordMatching true to only find tags delimited by word boundaries, see
+   *        {@link TaggableTextArea#setWordMatching(boolean)}
+   */
+  public TagProcessor(TagSource<T> tagSource, boolean wordMatching) {
+    this(tagSource, wordMatching, Collections.emptyList());
+  }
+
+  /**
+   * Creates a processor finding the tags with the given source, and the tags typed with the given
+   * triggers.
+   *
+   * @param tagSource the source of the items used as tags without a trigger character
+   * @param wordMatching true to only find tags delimited by word boundaries, see
+   *        {@link TaggableTextArea#setWordMatching(boolean)}
+   * @param triggers the triggers
+   */
+  public TagProcessor(TagSource<T> tagSource, boolean wordMatching,
+      Collection<? extends TagTrigger<?>> triggers) {
+    this.tagSource = Objects.requireNonNull(tagSource, "Tag source cannot be null");
+    this.wordMatching = wordMatching;
+    this.triggers = Collections.unmodifiableList(new ArrayList<>(triggers));
+  }
+
+  /**
+   * Creates a processor for the given items, indexed in a new {@link TagCatalog}.
+   *
+   * @param <T> the type of the items
+   * @param items the items used as tags
+   * @param labelGenerator the function generating the label of an item
+   * @return the processor
+   */
+  public static <T> TagProcessor<T> of(Collection<T> items,
+      SerializableFunction<T, String> labelGenerator) {
+    return new TagProcessor<>(TagCatalog.of(items, labelGenerator));
+  }
+
+  /**
+   * Returns the source used to find the tags.
+   *
+   * @return the tag source
+   */
+  public TagSource<T> getTagSource() {
+    return tagSource;
+  }
+
+  /**
+   * Returns whether only tags delimited by word boundaries are found.
+   *
+   * @return true if word matching is enabled
+   */
+  public boolean isWordMatching() {
+    return wordMatching;
+  }
+
+  /**
+   * Returns the triggers whose tags are found besides the ones of the source.
+   *
+   * @return an unmodifiable list of the triggers
+   */
+  public List<TagTrigger<?>> getTriggers() {
+    return triggers;
+  }
+
+  /**
+   * Finds the tags of a plain text value, preferring the longest label when several of them match
+   * at the same position. When tags of the source and of the triggers overlap, the one starting
+   * first is kept.
+   *
+   * @param text the plain text, as returned by {@link TaggableTextArea#getValue()}
+   * @return the tags, in the order they appear
+   */
+  public List<TagMatch> extractTags(String text) {
+    List<TagMatch> matches = tagSource.findTags(text, wordMatching);
+    for (TagTrigger<?> trigger : triggers) {
+      List<TagMatch> triggerMatches = trigger.findTags(text, wordMatching);
+      if (!triggerMatches.isEmpty()) {
+        matches = merge(matches, triggerMatches);
+      }
+    }
+    return matches;
+  }
+
+  private static List<TagMatch> merge(List<TagMatch> first, List<TagMatch> second) {
+    List<TagMatch> merged = new ArrayList<>(first.size() + second.size());
+    int i = 0;
+    int j = 0;
+    int end = 0;
+    while (i < first.size() || j < second.size()) {
+      TagMatch next;
+      if (j == second.size()
+          || i < first.size() && first.get(i).getStart() <= second.get(j).getStart()) {
+        next = first.get(i++);
+      } else {
+        next = second.get(j++);
+      }
+      if (next.getStart() >= end) {
+        merged.add(next);
+        end = next.getEnd();
+      }
+    }
+    return merged;
+  }
+
+  /**
+   * Returns the items used as tags in a plain text value, in the order they appear. An item used
+   * several times is included once per occurrence.
+   *
+   * @param text the plain text, as returned by {@link TaggableTextArea#getValue()}
+   * @return the items
+   */
+  public List<T> extractItems(String text) {
+    return extractItems(tagSource, extractTags(text, null));
+  }
+
+  /**
+   * Returns the items of the given trigger used as tags in a plain text value, in the order they
+   * appear.
+   *
+   * @param <S> the type of the items of the trigger
+   * @param text the plain text, as returned by {@link TaggableTextArea#getValue()}
+   * @param trigger the trigger, one of the triggers of this processor
+   * @return the items
+   */
+  public <S> List<S> extractItems(String text, TagTrigger<S> trigger) {
+    List<TagMatch> matches = extractTags(text, trigger);
+    return matches.isEmpty() ? new ArrayList<>() : extractItems(trigger.getTagSource(), matches);
+  }
+
+  private List<TagMatch> extractTags(String text, TagTrigger<?> trigger) {
+    List<TagMatch> matches = extractTags(text);
+    if (triggers.isEmpty() && trigger == null) {
+      return matches;
+    }
+    return matches.stream().filter(match -> match.getTrigger() == trigger)
+        .collect(Collectors.toList());
+  }
+
+  private static <S> List<S> extractItems(TagSource<S> source, List<TagMatch> matches) {
+    if (matches.isEmpty()) {
+      return new ArrayList<>();
+    }
+    Map<String, S> itemsByLabel = source.findByLabels(matches.stream()
+        .map(TagMatch::getLabel).collect(Collectors.toCollection(LinkedHashSet::new)));
+    List<S> result = new ArrayList<>(matches.size());
+    for (TagMatch match : matches) {
+      S item = itemsByLabel.get(match.getLabel());
+      if (item != null) {
+        result.add(item);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Decorates the tags of a value with the markup of {@link TaggableTextArea}. The ids of the tags
+   * are only unique within the returned value, the component generates new ones when the value is
+   * set.
+   *
+   * @param value the value, which may already contain decorated tags
+   * @return the decorated HTML value
+   */
+  public String decorate(String value) {
+    int[] sequence = new int[1];
+    return decorate(value, match -> "<span class=\"" + getClassName(match) + "\""
+        + getTriggerAttribute(match) + " contenteditable=\"false\" id=\"span-"
+        + Integer.toString(sequence[0]++, 36) + "\">" + getText(match) + "</span>");
+  }
+
+  /**
+   * Decorates the tags of a value with the given function. Tags already decorated, also with the
+   * markup of older versions of the component, are decorated again. The text between the tags is
+   * copied unchanged.
+   *
+   * @param value the value, which may already contain decorated tags
+   * @param tagDecorator the function returning the markup of a tag, see {@link #getText(TagMatch)}
+   *        and {@link #getClassName(TagMatch)}
+   * @return the decorated HTML value
+   */
+  public String decorate(String value, Function<TagMatch, String> tagDecorator) {
+    value = stripTags(value);
+    return decorate(value, extractTags(value), tagDecorator);
+  }
+
+  /**
+   * Decorates tags already found in a text with the given function, so the tags can be found in a
+   * background thread and decorated afterwards, e.g. by a component that generates the ids of the
+   * tags.
+   *
+   * @param value the value the tags were found in, without decorated tags, see
+   *        {@link #stripTags(String)}
+   * @param matches the tags found in the value, in order
+   * @param tagDecorator the function returning the markup of a tag
+   * @return the decorated HTML value
+   */
+  public static String decorate(String value, List<TagMatch> matches,
+      Function<TagMatch, String> tagDecorator) {
+    if (matches.isEmpty()) {
+      return value;
+    }
+    StringBuilder decorated = new StringBuilder(value.length() + matches.size() * 64);
+    int last = 0;
+    for (TagMatch match : matches) {
+      decorated.append(value, last, match.getStart());
+      decorated.append(tagDecorator.apply(match));
+      last = match.getEnd();
+    }
+    decorated.append(value, last, value.length());
+    return decorated.toString();
+  }
+
+  /**
+   * Returns the HTML for showing a plain text value read-only, with its tags highlighted. The text
+   * is escaped, except for the {@code <br/>} line breaks.
+   *
+   * @param text the plain text, as returned by {@link TaggableTextArea#getValue()}
+   * @param tagIdPrefix the prefix of the ids of the tags, which are numbered in order, or null to
+   *        render the tags without ids
+   * @return the HTML value
+   */
+  public String toDisplayHtml(String text, String tagIdPrefix) {
+    if (text == null) {
+      return "";
+    }
+    List<TagMatch> matches = extractTags(text);
+    StringBuilder html = new StringBuilder(text.length() + matches.size() * 48);
+    int last = 0;
+    int tagIndex = 0;
+    for (TagMatch match : matches) {
+      appendEscaped(html, text, last, match.getStart());
+      html.append("<span class=\"").append(getClassName(match)).append('"');
+      if (tagIdPrefix != null) {
+        html.append(" id=\"").append(tagIdPrefix).append(Integer.toString(tagIndex++, 36))
+            .append('"');
+      }
+      html.append('>');
+      String tagText = getText(match);
+      appendEscaped(html, tagText, 0, tagText.length());
+      html.append("</span>");
+      last = match.getEnd();
+    }
+    appendEscaped(html, text, last, text.length());
+    return html.toString();
+  }
+
+  /**
+   * Processes the documents in parallel, in the common fork-join pool, with the given operation,
+   * which is usually a method of this processor. The results are in the order of the documents
+   * only for ordered terminal operations, e.g. {@code forEachOrdered} or {@code collect}, while
+   * {@code forEach} consumes them as they are processed.
+   *
+   * @param <R> the type of the results
+   * @param documents the documents
+   * @param operation the operation applied to each document
+   * @return the results, as a parallel stream
+   */
+  public <R> Stream<R> processAll(Stream<String> documents,
+      Function<? super String, ? extends R> operation) {
+    // build the label index before the workers start, instead of making them wait for it
+    extractTags("");
+    return documents.parallel().map(operation);
+  }
+
+  /**
+   * Processes the documents in parallel, see {@link #processAll(Stream, Function)}.
+   *
+   * @param <R> the type of the results
+   * @param documents the documents
+   * @param operation the operation applied to each document
+   * @return the results, as a parallel stream
+   */
+  public <R> Stream<R> processAll(Iterable<String> documents,
+      Function<? super String, ? extends R> operation) {
+    return processAll(StreamSupport.stream(documents.spliterator(), true), operation);
+  }
+
+  /**
+   * Returns the text of a tag, which is its label preceded by the character of its trigger, if
+   * any.
+   *
+   * @param match the tag
+   * @return the text of the tag
+   */
+  public static String getText(TagMatch match) {
+    return match.getTrigger() == null ? match.getLabel()
+        : match.getTrigger().getCharacter() + match.getLabel();
+  }
+
+  /**
+   * Returns the CSS class names of the element of a tag, which are {@code mention-highlight} and
+   * the class name of its trigger, if any.
+   *
+   * @param match the tag
+   * @return the class names
+   */
+  public static String getClassName(TagMatch match) {
+    return getClassName(match.getTrigger());
+  }
+
+  static String getClassName(TagTrigger<?> trigger) {
+    String triggerClassName = trigger == null ? null : trigger.getClassName();
+    return triggerClassName == null ? "mention-highlight" : "mention-highlight " + triggerClassName;
+  }
+
+  /**
+   * Returns the {@code data-trigger} attribute of the element of a tag, preceded by a space, or an
+   * empty string for the tags without a trigger. The component opens the popup of a clicked tag
+   * for the trigger of the attribute, as the label of a tag may start with a trigger character.
+   *
+   * @param match the tag
+   * @return the attribute
+   */
+  public static String getTriggerAttribute(TagMatch match) {
+    if (match.getTrigger() == null) {
+      return "";
+    }
+    StringBuilder attribute = new StringBuilder(" data-trigger=\"");
+    appendEscaped(attribute, String.valueOf(match.getTrigger().getCharacter()), 0, 1);
+    return attribute.append('"').toString();
+  }
+
+  /**
+   * Removes the decoration of the tags of an HTML value, leaving their labels.
+   *
+   * @param html the HTML value
+   * @return the HTML value without tag decorations
+   */
+  public static String stripTags(String html) {
+    if (html == null || !html.contains("mention-highlight")) {
+      return html;
+    }
+    return TAG_SPAN.matcher(html).replaceAll("$1");
+  }
+
+  /**
+   * Converts an HTML value to plain text, as {@link TaggableTextArea#getValue()} does, keeping the
+   * line breaks as {@code <br/>}.
+   *
+   * @param html the HTML value
+   * @return the plain text, empty if the value is null
+   */
+  public static String toPlainText(String html) {
+    if (html == null || html.isEmpty()) {
+      return "";
+    }
+    int firstDiv = html.indexOf("<div>");
+    if (firstDiv >= 0) {
+      html = html.substring(0, firstDiv) + BR_MARKER + html.substring(firstDiv + "<div>".length());
+    }
+    html = html.replace("<div><span class=\"mention-highlight", BR_MARKER + "<span class=\"mention-highlight");
+    html = html.replace("<br></div><div><div style=\"display: inline;\">", BR_MARKER);
+    html = html.replace("<div><div style=\"display: inline;\">", BR_MARKER);
+    html = html.replace("<div>", BR_MARKER);
+    html = html.replace(BR, BR_MARKER);
+    html = html.replace("<br>", BR_MARKER);
+    return Jsoup.parse(html).text().replace(BR_MARKER, BR);
+  }
+
+  /**
+   * Returns the length of the text content of an HTML value, as the browser counts it for
+   * enforcing the max length: only the text outside of the tags, with every character reference
+   * counted as one character and line break elements not counted. It is computed in a single pass,
+   * without parsing the value, with the same tokenizer as {@link #sanitize(String)}.
+   *
+   * @param html the HTML value
+   * @return the length, 0 if the value is null
+   */
+  public static int textLength(String html) {
+    if (html == null) {
+      return 0;
+    }
+    int length = 0;
+    for (int i = 0, n = html.length(); i < n; i++) {
+      char c = html.charAt(i);
+      if (c == '<') {
+        int end = tagEnd(html, i);
+        if (end < 0) {
+          length++;
+        } else {
+          i = end - 1;
+        }
+      } else if (c == '&') {
+        int semicolon = html.indexOf(';', i);
+        if (semicolon > i && semicolon - i <= 10) {
+          i = semicolon;
+        }
+        length++;
+      } else if (c != '\r' || i + 1 == n || html.charAt(i + 1) != '\n') {
+        length++;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Removes from an HTML value, in a single pass, everything but the structure produced by the
+   * component and the browser while editing it: text, line breaks, {@code div} elements and the
+   * {@code span} elements of the tags, the marker and the trailing spaces. Other elements are
+   * removed keeping their text, except the elements whose content is not text, like
+   * {@code script}, which are removed with their content. Only the {@code class}, {@code id},
+   * {@code contenteditable}, {@code data-trigger} and {@code style="display: inline;"} attributes
+   * are kept.
+   *
+   * <p>An allowed value is returned as is, without allocating anything, so sanitizing the content
+   * pushed by the client on every edit is cheap.
+   *
+   * @param html the HTML value
+   * @return the sanitized HTML value, the same instance if nothing was removed
+   */
+  public static String sanitize(String html) {
+    if (html == null) {
+      return null;
+    }
+    StringBuilder clean = null;
+    int copied = 0;
+    int i = html.indexOf('<');
+    while (i >= 0) {
+      int end = tagEnd(html, i);
+      if (end >= 0 && sanitizeTag(html, i, end, null)) {
+        i = html.indexOf('<', end);
+        continue;
+      }
+      if (clean == null) {
+        clean = new StringBuilder(html.length());
+      }
+      clean.append(html, copied, i);
+      if (end < 0) {
+        clean.append("&lt;");
+        copied = i + 1;
+      } else {
+        sanitizeTag(html, i, end, clean);
+        copied = rawTextEnd(html, i, end);
+      }
+      i = html.indexOf('<', copied);
+    }
+    return clean == null ? html : clean.append(html, copied, html.length()).toString();
+  }
+
+  /**
+   * Returns the end of the tag starting at the given position: the position after its closing
+   * {@code >}, skipping the quoted attribute values, or after the end of a comment, or -1 if the
+   * {@code <} does not start a tag, so it is text.
+   */
+  private static int tagEnd(String html, int start) {
+    int n = html.length();
+    int i = start + 1;
+    if (i >= n) {
+      return -1;
+    }
+    char c = html.charAt(i);
+    if (c == '!' || c == '?') {
+      if (html.startsWith("<!--", start)) {
+        int close = html.indexOf("-->", start + 4);
+        return close < 0 ? n : close + 3;
+      }
+      int close = html.indexOf('>', i);
+      return close < 0 ? n : close + 1;
+    }
+    if (c == '/') {
+      i++;
+    }
+    if (i >= n || !isAsciiLetter(html.charAt(i))) {
+      return -1;
+    }
+    for (; i < n; i++) {
+      c = html.charAt(i);
+      if (c == '"' || c == '\'') {
+        i = html.indexOf(c, i + 1);
+        if (i < 0) {
+          return -1;
+        }
+      } else if (c == '>') {
+        return i + 1;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Checks a tag against the allowed structure. If a builder is given, the allowed part of the tag
+   * is appended to it, otherwise the check stops at the first difference.
+   *
+   * @return true if the tag is allowed as is
+   */
+  private static boolean sanitizeTag(String html, int start, int end, StringBuilder out) {
+    int last = end - 1;
+    int i = start + 1;
+    boolean closing = html.charAt(i) == '/';
+    if (closing) {
+      i++;
+    }
+    int nameStart = i;
+    while (i < last && (isAsciiLetter(html.charAt(i)) || Character.isDigit(html.charAt(i)))) {
+      i++;
+    }
+    String name = regionEquals(html, nameStart, i, "span") ? "span"
+        : regionEquals(html, nameStart, i, "div") ? "div"
+        : regionEquals(html, nameStart, i, "br") ? "br" : null;
+    if (name == null || closing && name.equals("br")) {
+      return false;
+    }
+    boolean clean = html.startsWith(name, nameStart);
+    if (closing) {
+      if (out != null) {
+        out.append("</").append(name).append('>');
+      }
+      return clean && i == last;
+    }
+    if (out != null) {
+      out.append('<').append(name);
+    }
+    while (i < last && (clean || out != null)) {
+      char c = html.charAt(i);
+      if (Character.isWhitespace(c) || c == '/') {
+        i++;
+        continue;
+      }
+      int attrStart = i;
+      while (i < last && !isAttributeNameEnd(html.charAt(i))) {
+        i++;
+      }
+      int attrEnd = i;
+      while (i < last && Character.isWhitespace(html.charAt(i))) {
+        i++;
+      }
+      int valueStart = i;
+      int valueEnd = i;
+      boolean quoted = false;
+      if (i < last && html.charAt(i) == '=') {
+        i++;
+        while (i < last && Character.isWhitespace(html.charAt(i))) {
+          i++;
+        }
+        char quote = i < last ? html.charAt(i) : 0;
+        if (quote == '"' || quote == '\'') {
+          valueStart = i + 1;
+          valueEnd = html.indexOf(quote, valueStart);
+          if (valueEnd < 0 || valueEnd >= last) {
+            // the quotes of the value were paired differently by tagEnd, drop the rest of the tag
+            clean = false;
+            break;
+          }
+          i = valueEnd + 1;
+          quoted = quote == '"';
+        } else {
+          valueStart = i;
+          while (i < last && !Character.isWhitespace(html.charAt(i))) {
+            i++;
+          }
+          valueEnd = i;
+        }
+      }
+      String attribute = allowedAttribute(name, html, attrStart, attrEnd, valueStart, valueEnd);
+      if (attribute == null || !quoted || !html.startsWith(attribute, attrStart)) {
+        clean = false;
+      }
+      if (attribute != null && out != null) {
+        out.append(' ').append(attribute).append("=\"");
+        for (int j = valueStart; j < valueEnd; j++) {
+          char v = html.charAt(j);
+          if (v == '"') {
+            out.append("&quot;");
+          } else {
+            out.append(v);
+          }
+        }
+        out.append('"');
+      }
+    }
+    if (out != null) {
+      out.append('>');
+    }
+    return clean;
+  }
+
+  private static String allowedAttribute(String element, String html, int start, int end,
+      int valueStart, int valueEnd) {
+    if (regionEquals(html, start, end, "style")) {
+      return element.equals("br") || !html.startsWith(INLINE_STYLE, valueStart)
+          || valueEnd - valueStart != INLINE_STYLE.length() ? null : "style";
+    }
+    if (!element.equals("span")) {
+      return null;
+    }
+    return regionEquals(html, start, end, "class") ? "class"
+        : regionEquals(html, start, end, "id") ? "id"
+        : regionEquals(html, start, end, "contenteditable") ? "contenteditable"
+        : regionEquals(html, start, end, "data-trigger") ? "data-trigger" : null;
+  }
+
+  /**
+   * Returns the position where the text following a removed tag starts, which is after the end of
+   * the element for the elements whose content is not text.
+   */
+  private static int rawTextEnd(String html, int start, int end) {
+    if (html.charAt(start + 1) == '/') {
+      return end;
+    }
+    for (String element : RAW_TEXT_ELEMENTS) {
+      int nameEnd = start + 1 + element.length();
+      if (nameEnd < end && html.regionMatches(true, start + 1, element, 0, element.length())
+          && isAttributeNameEnd(html.charAt(nameEnd))) {
+        for (int i = html.indexOf("</", end); i >= 0; i = html.indexOf("</", i + 2)) {
+          if (html.regionMatches(true, i + 2, element, 0, element.length())) {
+            int closeEnd = html.indexOf('>', i);
+            return closeEnd < 0 ? html.length() : closeEnd + 1;
+          }
+        }
+        return html.length();
+      }
+    }
+    return end;
+  }
+
+  private static boolean regionEquals(String html, int start, int end, String name) {
+    return end - start == name.length() && html.regionMatches(true, start, name, 0, end - start);
+  }
+
+  private static boolean isAsciiLetter(char c) {
+    return c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z';
+  }
+
+  private static boolean isAttributeNameEnd(char c) {
+    return Character.isWhitespace(c) || c == '=' || c == '/' || c == '>';
+  }
+
+  private static void appendEscaped(StringBuilder html, String text, int start, int end) {
+    for (int i = start; i < end; i++) {
+      char c = text.charAt(i);
+      switch (c) {
+        case '<':
+          if (text.startsWith(BR, i) && i + BR.length() <= end) {
+            html.append(BR);
+            i += BR.length() - 1;
+          } else {
+            html.append("&lt;");
+          }
+          break;
+        case '>':
+          html.append("&gt;");
+          break;
+        case '&':
+          html.append("&amp;");
+          break;
+        case '"':
+          html.append("&quot;");
+          break;
+        default:
+          html.append(c);
+      }
+    }
+  }
+}
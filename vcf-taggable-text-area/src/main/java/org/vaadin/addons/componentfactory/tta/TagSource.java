@@ -0,0 +1,120 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Source of the items that can be used as tags by {@link TaggableTextArea}.
+ *
+ * <p>Instead of handing the complete list of items to every component, a {@code TagSource} is
+ * queried on demand: the selector fetches pages of items matching the filter text, and the
+ * component resolves the items of the tags found in its value by key or by label. This allows
+ * backing the component with a large directory without loading it into every session.
+ *
+ * <p>See {@link InMemoryTagSource} for a list backed implementation and {@link CachingTagSource}
+ * for a decorator that caches the lookups of a slow source.
+ *
+ * @param <T> the type of the items
+ */
+public interface TagSource<T> extends Serializable {
+
+  /**
+   * Returns a page of the items whose label matches the filter text.
+   *
+   * @param filterText the text typed by the user, empty to return all the items
+   * @param offset the index of the first item to return
+   * @param limit the maximum amount of items to return
+   * @return the matching items
+   */
+  Stream<T> search(String filterText, int offset, int limit);
+
+  /**
+   * Returns the amount of items whose label matches the filter text.
+   *
+   * @param filterText the text typed by the user, empty to count all the items
+   * @return the amount of matching items
+   */
+  int count(String filterText);
+
+  /**
+   * Resolves an item by its key.
+   *
+   * @param key the key of the item
+   * @return the item, or an empty optional if there is no item with that key
+   */
+  Optional<T> findByKey(String key);
+
+  /**
+   * Resolves an item by its label.
+   *
+   * @param label the label of the item
+   * @return the item, or an empty optional if there is no item with that label
+   */
+  Optional<T> findByLabel(String label);
+
+  /**
+   * Resolves several items by their labels at once. The default implementation calls
+   * {@link #findByLabel(String)} for every label, implementations backed by a remote directory
+   * should override it to use a single request.
+   *
+   * @param labels the labels to resolve
+   * @return the resolved items by label, labels without an item are not included
+   */
+  default Map<String, T> findByLabels(Collection<String> labels) {
+    Map<String, T> result = new LinkedHashMap<>();
+    for (String label : labels) {
+      findByLabel(label).ifPresent(item -> result.put(label, item));
+    }
+    return result;
+  }
+
+  /**
+   * Finds the labels of the items of this source that occur in the text. When several labels
+   * match at the same position the longest one is returned, and the matches never overlap.
+   *
+   * @param text the text to search
+   * @param wordMatching whether the labels should only match whole words
+   * @return the matches, ordered by their position in the text
+   */
+  List<TagMatch> findTags(String text, boolean wordMatching);
+
+  /**
+   * Returns the label of the item, as it is shown in the text.
+   *
+   * @param item the item
+   * @return the label
+   */
+  String getLabel(T item);
+
+  /**
+   * Returns the key that identifies the item.
+   *
+   * @param item the item
+   * @return the key
+   */
+  String getKey(T item);
+}
@@ -0,0 +1,202 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.HasValueAndElement;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.SerializableSupplier;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A character, other than the default {@code @}, that opens a popup for selecting a tag from its
+ * own items when typed in a {@link TaggableTextArea}, e.g. {@code #} for projects or {@code $} for
+ * tickets. Tags typed with a trigger keep the trigger character in the text, before their label.
+ *
+ * <p>The {@link TagSource} of the trigger is created by a supplier on first use, so its items are
+ * not loaded and indexed until a text containing the trigger character is processed or the popup
+ * is opened. The selector is created every time the popup is opened. A trigger can be shared by
+ * several components, which then share its source.
+ *
+ * <pre>
+ * TagTrigger&lt;Project&gt; projects = TagTrigger.of('#', projectService::findAll, Project::getName);
+ * projects.setClassName("project-tag");
+ * textArea.addTrigger(projects);
+ * </pre>
+ *
+ * @param <T> the type of the items of the trigger
+ */
+@SuppressWarnings("serial")
+public class TagTrigger<T> implements Serializable {
+
+  private final char character;
+  private final SerializableSupplier<? extends TagSource<T>> tagSourceSupplier;
+  private transient volatile TagSource<T> tagSource;
+  private SerializableFunction<TagSource<T>, HasValueAndElement<?, T>> selectorFactory =
+      FilterListSelector::new;
+  private SerializableFunction<T, Component> tagPopupContentProvider;
+  private String className;
+
+  /**
+   * Creates a trigger whose source is created by the given supplier on first use.
+   *
+   * @param character the trigger character, other than {@code @}
+   * @param tagSourceSupplier the supplier creating the source of the items
+   */
+  public TagTrigger(char character, SerializableSupplier<? extends TagSource<T>> tagSourceSupplier) {
+    if (character == '@' || Character.isLetterOrDigit(character) || Character.isWhitespace(character)) {
+      throw new IllegalArgumentException("Invalid trigger character: " + character);
+    }
+    this.character = character;
+    this.tagSourceSupplier =
+        Objects.requireNonNull(tagSourceSupplier, "Tag source supplier cannot be null");
+  }
+
+  /**
+   * Creates a trigger for the items returned by the given supplier, which is called on first use.
+   *
+   * @param <T> the type of the items
+   * @param character the trigger character, other than {@code @}
+   * @param itemsSupplier the supplier of the items
+   * @param labelGenerator the function generating the label of an item
+   * @return the trigger
+   */
+  public static <T> TagTrigger<T> of(char character,
+      SerializableSupplier<? extends Collection<T>> itemsSupplier,
+      SerializableFunction<T, String> labelGenerator) {
+    Objects.requireNonNull(itemsSupplier, "Items supplier cannot be null");
+    Objects.requireNonNull(labelGenerator, "Label generator cannot be null");
+    return new TagTrigger<>(character, () -> TagCatalog.of(itemsSupplier.get(), labelGenerator));
+  }
+
+  /**
+   * Returns the trigger character.
+   *
+   * @return the character
+   */
+  public char getCharacter() {
+    return character;
+  }
+
+  /**
+   * Returns the source of the items of the trigger, creating it on the first call.
+   *
+   * @return the tag source
+   */
+  public TagSource<T> getTagSource() {
+    TagSource<T> result = tagSource;
+    if (result == null) {
+      synchronized (this) {
+        result = tagSource;
+        if (result == null) {
+          result = Objects.requireNonNull(tagSourceSupplier.get(), "Tag source cannot be null");
+          tagSource = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Sets the factory of the selector shown in the popup, called with the source of the trigger
+   * every time the popup is opened. Defaults to a {@link FilterListSelector} fetching the items from
+   * the source.
+   *
+   * @param selectorFactory the selector factory
+   */
+  public void setSelectorFactory(
+      SerializableFunction<TagSource<T>, HasValueAndElement<?, T>> selectorFactory) {
+    this.selectorFactory = Objects.requireNonNull(selectorFactory, "Selector factory cannot be null");
+  }
+
+  /**
+   * Creates the selector shown in the popup.
+   *
+   * @return the selector
+   */
+  public HasValueAndElement<?, T> createSelector() {
+    return selectorFactory.apply(getTagSource());
+  }
+
+  /**
+   * Sets the provider of the content of the popup shown when a tag of the trigger is clicked.
+   * Defaults to null, showing no popup.
+   *
+   * @param tagPopupContentProvider the provider of the popup content for an item, or null
+   */
+  public void setTagPopupContentProvider(
+      SerializableFunction<T, Component> tagPopupContentProvider) {
+    this.tagPopupContentProvider = tagPopupContentProvider;
+  }
+
+  /**
+   * Creates the content of the popup shown when a tag of the trigger is clicked.
+   *
+   * @param item the item of the clicked tag
+   * @return the content, or null if no popup should be shown
+   */
+  public Component createTagPopupContent(T item) {
+    return tagPopupContentProvider == null ? null : tagPopupContentProvider.apply(item);
+  }
+
+  /**
+   * Sets the CSS class name added to the tags of the trigger, besides {@code mention-highlight},
+   * so they can be styled differently.
+   *
+   * @param className the class name, or null to add none
+   */
+  public void setClassName(String className) {
+    this.className = className;
+  }
+
+  /**
+   * Returns the CSS class name added to the tags of the trigger.
+   *
+   * @return the class name, or null if none is added
+   */
+  public String getClassName() {
+    return className;
+  }
+
+  /**
+   * Finds the tags of the trigger in the text, which are its labels preceded by the trigger
+   * character. The index is not built if the text does not contain the character.
+   *
+   * @param text the plain text
+   * @param wordMatching true to only find labels delimited by word boundaries
+   * @return the tags, including the trigger character
+   */
+  List<TagMatch> findTags(String text, boolean wordMatching) {
+    List<TagMatch> result = new ArrayList<>();
+    if (text == null || text.indexOf(character) < 0) {
+      return result;
+    }
+    for (TagMatch match : getTagSource().findTags(text, wordMatching)) {
+      if (match.getStart() > 0 && text.charAt(match.getStart() - 1) == character) {
+        result.add(new TagMatch(match.getStart() - 1, match.getEnd(), match.getLabel(), this));
+      }
+    }
+    return result;
+  }
+}
@@ -0,0 +1,307 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Application scoped counters of how often the items are used as tags, globally and per user,
+ * used by {@link TaggableTextArea#setUsageStatistics(TagUsageStatistics, String)} to list the
+ * most used items first. Older uses count less: the score of a use halves every half-life.
+ *
+ * <p>Recording a use only increments a {@link LongAdder}, so concurrent editors do not contend.
+ * The decay is applied once per time slot (an eighth of the half-life) when a counter is touched,
+ * so the scores are approximate while a slot is rolled over. Once per slot, the counters whose
+ * score has decayed below {@value #MIN_SCORE} are dropped, so the memory used follows the recent
+ * activity; a use recorded while its counter is being dropped may be lost.
+ *
+ * <p>The most used keys are kept per user until a use is recorded or the slot changes, so ranking
+ * the items on every typed character does not sort all the keys again.
+ */
+@SuppressWarnings("serial")
+public class TagUsageStatistics implements Serializable {
+
+  private static final int SLOTS_PER_HALF_LIFE = 8;
+  private static final double DECAY_PER_SLOT = Math.pow(0.5, 1.0 / SLOTS_PER_HALF_LIFE);
+  private static final double MIN_SCORE = 0.01;
+
+  private final long slotMillis;
+  private final Map<String, Counter> global = new ConcurrentHashMap<>();
+  private final Map<String, Map<String, Counter>> perUser = new ConcurrentHashMap<>();
+  private volatile double userWeight = 4;
+  /** Incremented by every recorded use, invalidating the cached top keys. */
+  private final AtomicLong version = new AtomicLong();
+  private final Map<String, TopKeys> topKeys = new ConcurrentHashMap<>();
+  private final AtomicLong purgedSlot = new AtomicLong();
+
+  /**
+   * Creates statistics whose uses lose half of their weight every 30 days.
+   */
+  public TagUsageStatistics() {
+    this(Duration.ofDays(30));
+  }
+
+  /**
+   * Creates statistics whose uses lose half of their weight every half-life.
+   *
+   * @param halfLife the time after which a use counts half
+   */
+  public TagUsageStatistics(Duration halfLife) {
+    slotMillis = Math.max(1, halfLife.toMillis() / SLOTS_PER_HALF_LIFE);
+  }
+
+  /**
+   * Sets how much more the uses of the user count than the uses of everybody when ranking the
+   * items for a user. Defaults to 4.
+   *
+   * @param userWeight the weight of the uses of the user, 0 to rank by the global uses only
+   */
+  public void setUserWeight(double userWeight) {
+    if (userWeight < 0) {
+      throw new IllegalArgumentException("User weight cannot be negative");
+    }
+    this.userWeight = userWeight;
+    topKeys.clear();
+  }
+
+  /**
+   * Returns how much more the uses of the user count than the uses of everybody.
+   *
+   * @return the weight of the uses of the user
+   */
+  public double getUserWeight() {
+    return userWeight;
+  }
+
+  /**
+   * Records a use of an item.
+   *
+   * @param userId the user using the item, or null to record it only globally
+   * @param key the key of the item
+   */
+  public void record(String userId, String key) {
+    record(userId, key, System.currentTimeMillis());
+  }
+
+  void record(String userId, String key, long nowMillis) {
+    Objects.requireNonNull(key, "Key cannot be null");
+    long slot = nowMillis / slotMillis;
+    purgeIfNeeded(slot);
+    global.computeIfAbsent(key, k -> new Counter(slot)).increment(slot);
+    if (userId != null) {
+      perUser.computeIfAbsent(userId, u -> new ConcurrentHashMap<>())
+          .computeIfAbsent(key, k -> new Counter(slot)).increment(slot);
+    }
+    version.incrementAndGet();
+  }
+
+  /**
+   * Drops the counters that decayed below the minimum score, once per slot.
+   */
+  private void purgeIfNeeded(long slot) {
+    long purged = purgedSlot.get();
+    if (slot <= purged || !purgedSlot.compareAndSet(purged, slot)) {
+      return;
+    }
+    purge(global, slot);
+    perUser.forEach((userId, counters) -> {
+      purge(counters, slot);
+      if (counters.isEmpty()) {
+        perUser.remove(userId, counters);
+      }
+    });
+    topKeys.clear();
+  }
+
+  private static void purge(Map<String, Counter> counters, long slot) {
+    counters.forEach((key, counter) -> {
+      if (counter.score(slot) < MIN_SCORE) {
+        counters.remove(key, counter);
+      }
+    });
+  }
+
+  /**
+   * Returns the score of an item for a user: the decayed uses of everybody plus the decayed uses
+   * of the user multiplied by the user weight.
+   *
+   * @param userId the user, or null for the global score
+   * @param key the key of the item
+   * @return the score, 0 if the item was never used
+   */
+  public double getScore(String userId, String key) {
+    return getScore(userId, key, System.currentTimeMillis());
+  }
+
+  double getScore(String userId, String key, long nowMillis) {
+    long slot = nowMillis / slotMillis;
+    Counter counter = global.get(key);
+    double score = counter == null ? 0 : counter.score(slot);
+    Map<String, Counter> userCounters = userId == null ? null : perUser.get(userId);
+    Counter userCounter = userCounters == null ? null : userCounters.get(key);
+    return userCounter == null ? score : score + userWeight * userCounter.score(slot);
+  }
+
+  /**
+   * Returns the keys of the items with the highest scores for a user.
+   *
+   * @param userId the user, or null for the global ranking
+   * @param limit the maximum amount of keys
+   * @return the keys, the highest score first
+   */
+  public List<String> getTopKeys(String userId, int limit) {
+    return getTopKeys(userId, limit, System.currentTimeMillis());
+  }
+
+  List<String> getTopKeys(String userId, int limit, long nowMillis) {
+    long slot = nowMillis / slotMillis;
+    long currentVersion = version.get();
+    String cacheKey = userId == null ? "" : "user:" + userId;
+    TopKeys cached = topKeys.get(cacheKey);
+    if (cached == null || !cached.isValid(slot, currentVersion, limit)) {
+      cached = new TopKeys(slot, currentVersion, limit, computeTopKeys(userId, limit, nowMillis));
+      topKeys.put(cacheKey, cached);
+    }
+    List<String> keys = cached.keys;
+    return new ArrayList<>(keys.subList(0, Math.min(limit, keys.size())));
+  }
+
+  /**
+   * Keeps the best keys in a heap bounded by the limit, the worst of them on top.
+   */
+  private List<String> computeTopKeys(String userId, int limit, long nowMillis) {
+    if (limit <= 0) {
+      return new ArrayList<>();
+    }
+    Set<String> keys = new HashSet<>(global.keySet());
+    Map<String, Counter> userCounters = userId == null ? null : perUser.get(userId);
+    if (userCounters != null) {
+      keys.addAll(userCounters.keySet());
+    }
+    Comparator<Map.Entry<String, Double>> order =
+        Map.Entry.<String, Double>comparingByValue(Comparator.reverseOrder())
+            .thenComparing(Map.Entry.comparingByKey());
+    PriorityQueue<Map.Entry<String, Double>> best = new PriorityQueue<>(order.reversed());
+    for (String key : keys) {
+      best.add(new SimpleImmutableEntry<>(key, getScore(userId, key, nowMillis)));
+      if (best.size() > limit) {
+        best.poll();
+      }
+    }
+    List<Map.Entry<String, Double>> result = new ArrayList<>(best);
+    result.sort(order);
+    return result.stream().map(Map.Entry::getKey).collect(Collectors.toList());
+  }
+
+  /**
+   * Removes all the recorded uses.
+   */
+  public void clear() {
+    global.clear();
+    perUser.clear();
+    version.incrementAndGet();
+  }
+
+  /**
+   * Returns the version of the recorded uses, incremented by every change.
+   */
+  long getVersion() {
+    return version.get();
+  }
+
+  /**
+   * Returns the amount of counters kept, globally and for every user.
+   */
+  int getCounterCount() {
+    return global.size() + perUser.values().stream().mapToInt(Map::size).sum();
+  }
+
+  /**
+   * The top keys of a user, computed with a limit in a slot for a version of the counters.
+   */
+  private static final class TopKeys implements Serializable {
+
+    private final long slot;
+    private final long version;
+    private final int limit;
+    private final List<String> keys;
+
+    private TopKeys(long slot, long version, int limit, List<String> keys) {
+      this.slot = slot;
+      this.version = version;
+      this.limit = limit;
+      this.keys = keys;
+    }
+
+    private boolean isValid(long slot, long version, int limit) {
+      // fewer keys than the limit are all the keys
+      return this.slot == slot && this.version == version
+          && (limit <= this.limit || keys.size() < this.limit);
+    }
+  }
+
+  /**
+   * Uses of an item in the current time slot, plus the decayed uses of the previous slots.
+   */
+  private static final class Counter implements Serializable {
+
+    private final LongAdder current = new LongAdder();
+    private volatile long slot;
+    private volatile double previous;
+
+    private Counter(long slot) {
+      this.slot = slot;
+    }
+
+    void increment(long now) {
+      if (now > slot) {
+        roll(now);
+      }
+      current.increment();
+    }
+
+    private synchronized void roll(long now) {
+      if (now > slot) {
+        previous = (previous + current.sumThenReset()) * Math.pow(DECAY_PER_SLOT, now - slot);
+        slot = now;
+      }
+    }
+
+    double score(long now) {
+      long counterSlot = slot;
+      double score = previous + current.sum();
+      return now > counterSlot ? score * Math.pow(DECAY_PER_SLOT, now - counterSlot) : score;
+    }
+  }
+}
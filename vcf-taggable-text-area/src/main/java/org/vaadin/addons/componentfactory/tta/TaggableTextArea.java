@@ -19,28 +19,52 @@
  */
 package org.vaadin.addons.componentfactory.tta;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Comparator;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.UUID;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
-
-import org.jsoup.Jsoup;
+import java.util.stream.Stream;
 
 import com.vaadin.componentfactory.Popup;
+import com.vaadin.flow.component.AttachEvent;
 import com.vaadin.flow.component.ClientCallable;
 import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.ComponentEventListener;
 import com.vaadin.flow.component.ComponentUtil;
+import com.vaadin.flow.component.DetachEvent;
 import com.vaadin.flow.component.HasValueAndElement;
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
+import com.vaadin.flow.component.dependency.CssImport;
+import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.component.html.Div;
 import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.component.progressbar.ProgressBar;
 import com.vaadin.flow.component.textfield.TextArea;
+import com.vaadin.flow.function.SerializableConsumer;
 import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.shared.Registration;
 
+import elemental.json.Json;
+import elemental.json.JsonArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * A text area component that supports tagging functionality. Users can insert tags
  * (e.g., mentions) by typing a special character (such as "@") to trigger a popup 
@@ -50,160 +74,517 @@ import com.vaadin.flow.shared.Registration;
  * @param <T> The type of items that can be used as tags.
  */
 @SuppressWarnings("serial")
+@CssImport("./styles/taggable-text-area.css")
+@JsModule("./taggable-text-area.js")
 public class TaggableTextArea<T> extends TextArea {
 	
+	/**
+	 * Inline style that older versions added to every tag, now applied by the
+	 * {@code mention-highlight} class of the shipped stylesheet.
+	 */
+	private static final String LEGACY_TAG_STYLE = " style=\"background-color:var(--lumo-contrast-10pct);color:var(--lumo-primary-text-color)\"";
+	private static final AtomicLong COMPONENT_SEQUENCE = new AtomicLong();
+	private static final String MENTION_MARKER = "<span id=\"mention-marker\">";
+	private static final String TRAILING_SPACE = "<span style=\"display: inline;\">&nbsp;</span>";
+	private static final int SUGGESTION_SCAN_LIMIT = 500;
+	/** Amount of the most used items listed first by the selector and the inline completion. */
+	private static final int RANKED_ITEM_COUNT = 5;
+	/** The version of the items of a source whose changes cannot be told. */
+	private static final long UNVERSIONED = -1;
+	
 	private Div content = new Div();
-	protected List<T> items = new ArrayList<>();
+	private final String tagIdPrefix = "span-" + Long.toString(COMPONENT_SEQUENCE.incrementAndGet(), 36) + "-";
+	private int tagSequence;
+	/**
+	 * The items available for tagging, when the component was created with a list of items. The
+	 * {@link InMemoryTagSource} of the component reads them through, also after reassigning this
+	 * field, so they can be changed directly, although {@link #addItems(Collection)} and
+	 * {@link #removeItems(Collection)} update the lookup structures incrementally instead of
+	 * rebuilding them. They are not serialized, as the source contains them, and are restored from
+	 * it.
+	 */
+	protected transient List<T> items = new ArrayList<>();
+	private TagSource<T> tagSource;
+	private boolean defaultTagSource;
 	private SerializableFunction<T,String> labelGenerator = item->""+item;
 	private SerializableFunction<T,Boolean> tagPopupVisibilityFunction = (item)->true;
 	private boolean wordMatching;
 	private Popup popup;
+	private HasValueAndElement<?,T> popupSelector;
+	private Popup tagPopup;
+	private String tagPopupTargetId;
+	private int tagPopupContentCacheSize;
+	private transient Map<T, Component> tagPopupContentCache;
+	private transient TaggableTextAreaMetrics metrics = TaggableTextAreaMetrics.NOOP;
+	private final Map<Character, TagTrigger<?>> triggers = new LinkedHashMap<>();
+	private ClientInitMode clientInitMode = ClientInitMode.ATTACH;
+	/**
+	 * Length of the text content of the value, as counted by the client for enforcing the max
+	 * length: computed when the value is set on the server, and reported by the client otherwise.
+	 */
+	private int plainLength;
+	private transient Executor decorationExecutor;
+	private int asyncDecorationThreshold = 10000;
+	/**
+	 * Incremented on every change of the value, so a decoration computed in the background for a
+	 * value that was changed in the meantime is discarded.
+	 */
+	private long valueRevision;
+	private boolean coalesceValueChanges;
+	/**
+	 * Content pushed by the client and not yet set as the value, when the value changes are
+	 * coalesced.
+	 */
+	private String pendingContent;
+	private int historySize;
+	/**
+	 * The current content, maintained only when the history is enabled, shared with the history
+	 * and the snapshots.
+	 */
+	private Rope document;
+	private final ArrayDeque<Rope> undoHistory = new ArrayDeque<>();
+	private final ArrayDeque<Rope> redoHistory = new ArrayDeque<>();
+	private int prefetchSize;
+	private Registration prefetchRegistration;
+	/** The first page of the selector, prefetched when the content got focus. */
+	private PrefetchedTagSource<T> prefetched;
+	private boolean inlineCompletion;
+	private int inlineSuggestionCount = 10;
+	private transient TagUsageStatistics usageStatistics;
+	private String usageUserId;
+	/** Keys of the tags of the value already recorded in the usage statistics. */
+	private final Set<String> countedKeys = new HashSet<>();
 	
     /**
      * Constructs a new TaggableTextArea component with a list of items that can be used as tags.
+     * The list is read through, so the items added to it or removed from it later are used too,
+     * but it is never modified by the component.
      * 
      * @param items the list of items to be available for tagging.
      */
 	public TaggableTextArea(List<T> items) {
+		initContent();
+		this.items = items;
+		this.tagSource = new InMemoryTagSource<>(items, labelGenerator);
+		this.defaultTagSource = true;
+	}
+	
+    /**
+     * Constructs a new TaggableTextArea component whose tags are queried on demand from the given
+     * {@link TagSource}, so the items do not need to be loaded up front. The labels of the tags
+     * are generated by the source, and the {@link #items} list is left empty.
+     * 
+     * @param tagSource the source of the items available for tagging
+     */
+	public TaggableTextArea(TagSource<T> tagSource) {
+		initContent();
+		this.tagSource = Objects.requireNonNull(tagSource, "Tag source cannot be null");
+	}
+	
+	private void initContent() {
 		content.getElement().setAttribute("contenteditable", true);
 		content.getElement().setAttribute("slot", "textarea");
 		content.getStyle().set("outline", "none");
 		content.getStyle().set("overflow", "auto");
 		content.setSizeFull();
 		this.getElement().appendChild(content.getElement());
-		
-		initLengthEnforcement();
-		
-		content.getElement().executeJs("this.addEventListener(\"input\", () => {"
-				+ "const content = this.innerHTML;"
-				+ "this.parentNode.$server.updateContent(content);"
-				+ "})");
-		content.getElement().executeJs(
-				"this.addEventListener(\"click\", (ev) => {"
-				+ "if (ev && ev.srcElement && ev.srcElement.id && ev.srcElement.id.startsWith('span')) {"
-				+ "this.parentNode.$server.showTagPopup(ev.srcElement.id, ev.srcElement.textContent);\n"
-				+ "}});");
-		
-		content.getElement().executeJs(
-				"this.addEventListener(\"keydown\", (event) => {\n"
-				+ "  if (event.key === \"@\") {\n"
-				+ "    const max = this.parentNode.maxlength;\n"
-				+ "    const getLen = () => this.textContent.replace(/\\r?\\n/g, '\\n').length;\n"
-				+ "    if (max && max > 0 && getLen() >= max) {\n"
-				+ "      event.preventDefault();\n"
-				+ "      return;\n"
-				+ "    }\n"
-				+ "    const range = window.getSelection().getRangeAt(0);\n"
-				+ "    const marker = document.createElement(\"span\");\n"
-				+ "    marker.id = \"mention-marker\";\n"
-				+ "    marker.textContent = \"@\";\n"
-				+ "    range.insertNode(marker);\n"
-				+ "    this.parentNode.$server.updateContent(this.innerHTML);\n"
-				+ "    this.parentNode.$server.showPopup();\n"
-				+ "    event.preventDefault();\n"
-				+ "  }\n"
-				+ "});");
-		content.getElement().executeJs(
-				"this.addEventListener(\"keydown\", (event) => {\n"
-				+ "  if (event.keyCode === 8) {\n"
-				+ "    const selection = window.getSelection();\n"
-				+ "        if (selection.rangeCount > 0) {\n"
-				+ "            const range = selection.getRangeAt(0);\n"
-				+ "            const currentNode = range.startContainer;\n"
-				+ "            const currentOffset = range.startOffset;\n"
-				+ "            if (currentNode.nodeType === Node.TEXT_NODE) {\n"
-				+ "                const parentNode = currentNode.parentNode;\n"
-				+ "                if (parentNode && parentNode.nodeName === \"SPAN\" && parentNode.className === \"mention-highlight\") {\n"
-				+ "                    parentNode.remove();\n"
-				+ "                    event.preventDefault();\n"
-				+ "                }\n"
-				+ "            }\n"
-				+ "            if (currentNode.nodeType === Node.ELEMENT_NODE && currentOffset === 0) {\n"
-				+ "                const previousNode = currentNode.previousSibling;\n"
-				+ "                if (previousNode && previousNode.nodeName === \"SPAN\" && previousNode.className === \"mention-highlight\") {\n"
-				+ "                    previousNode.remove();\n"
-				+ "                    event.preventDefault();\n"
-				+ "                }\n"
-				+ "            }\n"
-				+ "        }\n"
-				+ "  }\n"
-				+ "});");
-		this.items = items;
+	}
+	
+	/**
+	 * Adds items that can be used as tags. The lookup structures used to find the tags and the
+	 * items are updated incrementally, and the selector is refreshed if it is currently shown.
+	 * 
+	 * @param newItems the items to add
+	 * @throws UnsupportedOperationException if the component was created with a {@link TagSource}
+	 *         that is not an {@link InMemoryTagSource}, whose items should be changed directly
+	 */
+	public void addItems(Collection<T> newItems) {
+		InMemoryTagSource<T> source = getInMemoryTagSource();
+		source.addItems(newItems);
+		if (defaultTagSource) {
+			items = source.getItemList();
+		}
+		refreshSelector();
+	}
+	
+	/**
+	 * Removes items that can be used as tags. The lookup structures used to find the tags and the
+	 * items are updated incrementally, and the selector is refreshed if it is currently shown.
+	 * 
+	 * @param removedItems the items to remove
+	 * @throws UnsupportedOperationException if the component was created with a {@link TagSource}
+	 *         that is not an {@link InMemoryTagSource}, whose items should be changed directly
+	 */
+	public void removeItems(Collection<T> removedItems) {
+		InMemoryTagSource<T> source = getInMemoryTagSource();
+		source.removeItems(removedItems);
+		if (defaultTagSource) {
+			items = source.getItemList();
+		}
+		refreshSelector();
+	}
+	
+	/**
+	 * Replaces all the items that can be used as tags.
+	 * 
+	 * @param newItems the new items
+	 * @throws UnsupportedOperationException if the component was created with a {@link TagSource}
+	 *         that is not an {@link InMemoryTagSource}, whose items should be changed directly
+	 */
+	public void setItems(Collection<T> newItems) {
+		InMemoryTagSource<T> source = getInMemoryTagSource();
+		source.setItems(newItems);
+		if (defaultTagSource) {
+			items = source.getItemList();
+		}
+		refreshSelector();
+	}
+	
+	@SuppressWarnings("unchecked")
+	private InMemoryTagSource<T> getInMemoryTagSource() {
+		TagSource<T> tagSource = getTagSource();
+		if (!(tagSource instanceof InMemoryTagSource)) {
+			throw new UnsupportedOperationException(
+					"The items of a " + tagSource.getClass().getSimpleName() + " must be changed in the source");
+		}
+		return (InMemoryTagSource<T>) tagSource;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void refreshSelector() {
+		if (popupSelector instanceof FilterListSelector) {
+			FilterListSelector<T> selector = (FilterListSelector<T>) popupSelector;
+			if (defaultTagSource) {
+				selector.setItems(items);
+			} else {
+				selector.refresh();
+			}
+		} else if (popupSelector instanceof FilterListBoxSelector && defaultTagSource) {
+			((FilterListBoxSelector<T>) popupSelector).setItems(items);
+		}
+	}
+	
+	/**
+	 * Returns the source of the items that can be used as tags. When the component was created
+	 * with a list of items, it is an {@link InMemoryTagSource} reading through the {@link #items}.
+	 * 
+	 * @return the tag source
+	 */
+	@SuppressWarnings("unchecked")
+	public TagSource<T> getTagSource() {
+		if (defaultTagSource) {
+			// the items may have been reassigned by a subclass
+			((InMemoryTagSource<T>) tagSource).useItemList(items);
+		}
+		return tagSource;
 	}
 
     /**
      * Process the value finding existing tags and decorates them with the span that will trigger
      * the tag popup.
      * 
-     * To ensure smooth processing, the method first replaces the identified tags in the text with
-     * temporary placeholders. These placeholders are then substituted with the corresponding
-     * decorated spans, maintaining the integrity of the text structure.
+     * The tags are found by a {@link TagProcessor} in a single pass over the text, preferring the
+     * longest label when several of them match at the same position, and the text between them is
+     * copied unchanged, maintaining the integrity of the text structure.
      * 
      * @param value value the text content to process
      */
     void processAndSetValue(String value) {
-      // Define a unique prefix to mark placeholders
-      String prefix = "@";
-      while (value.contains(prefix)) {
-        prefix = prefix + "@";
-      }
-
-      // List to hold the decorated tags
-      List<String> tags = new ArrayList<String>();
-
-      // Generate a sorted list of labels (longest first) to avoid overlapping matches
-      List<String> orderedLabels = items.stream().map(labelGenerator)
-          .sorted(Comparator.comparing(String::length).reversed()).collect(Collectors.toList());
-
-      for (String label : orderedLabels) {
-        String regex;
-        if (wordMatching) {
-        	regex = "\\b" + Pattern.quote(label) + "\\b";
-        } else {
-        	regex = Pattern.quote(label);
-        }
-        Matcher matcher = Pattern.compile(regex).matcher(value);
-
-        while (matcher.find()) {
-            int start = matcher.start();
-            int end = matcher.end();
-
-            // Add the decorated span for the tag
-            tags.add(decorateWithSpan(label));
-
-            // Replace the tag in the text with a placeholder
-            String atChar = prefix + (tags.size() - 1);
-            value = value.substring(0, start) + atChar + value.substring(end);
-
-            // Reset matcher with updated value
-            matcher = Pattern.compile(regex).matcher(value);
+      long revision = ++valueRevision;
+      countedKeys.clear();
+      Optional<UI> ui = getUI();
+      String text = TagProcessor.stripTags(value);
+      if (decorationExecutor != null && text != null && text.length() >= asyncDecorationThreshold && ui.isPresent()) {
+        // show the text right away, and the tags when they have been found
+        showValue(text);
+        TagProcessor<T> processor = createTagProcessor();
+        try {
+          CompletableFuture.supplyAsync(() -> processor.extractTags(text), decorationExecutor)
+              .whenComplete((matches, error) -> decorateLater(ui.get(), revision, text, matches, error));
+          return;
+        } catch (RejectedExecutionException e) {
+          getLogger().warn("The decoration executor rejected the task, decorating the value in the request thread", e);
         }
       }
-      
-      // Replace placeholders with their corresponding decorated spans 
-      for (int i = 0; i < tags.size(); i++) {
-          String placeholder = prefix + i;
-          value = value.replace(placeholder, tags.get(i));
+      long start = System.nanoTime();
+      applyDecoration(text, createTagProcessor().extractTags(text), start);
+    }
+    
+    /**
+     * Applies the tags found in the background, or finds them in the UI thread if that failed, so
+     * the value is not left undecorated.
+     */
+    private void decorateLater(UI ui, long revision, String text, List<TagMatch> matches, Throwable error) {
+      if (error != null) {
+        getLogger().warn("Finding the tags in the background failed, finding them in the UI thread", error);
+      }
+      try {
+        ui.access(() -> {
+          if (revision == valueRevision) {
+            long start = System.nanoTime();
+            applyDecoration(text, error == null ? matches : createTagProcessor().extractTags(text), start);
+          }
+        });
+      } catch (UIDetachedException e) {
+        // the UI was closed in the meantime, there is nothing to decorate anymore
       }
-   
+    }
+    
+    private static Logger getLogger() {
+      return LoggerFactory.getLogger(TaggableTextArea.class);
+    }
+    
+    private void applyDecoration(String text, List<TagMatch> matches, long start) {
+      String value = TagProcessor.decorate(text, matches, this::decorateWithSpan);
+      showValue(value);
+      if (metrics != TaggableTextAreaMetrics.NOOP) {
+        metrics.recordTagCount(TaggableTextAreaMetrics.Operation.PROCESS_VALUE, matches.size());
+        metrics.recordPayloadSize(TaggableTextAreaMetrics.Operation.PROCESS_VALUE, TaggableTextAreaMetrics.utf8Length(value));
+        metrics.recordTime(TaggableTextAreaMetrics.Operation.PROCESS_VALUE, System.nanoTime() - start);
+      }
+    }
+    
+    private void showValue(String value) {
+      flushPendingContent();
+      recordEdit(getHtmlValue(), value);
+      renderValue(value);
+    }
+    
+    private void renderValue(String value) {
       super.setValue(value);
-      content.getElement().executeJs("this.innerHTML=$0", value);
+      plainLength = TagProcessor.textLength(value);
+      content.getElement().executeJs("this.innerHTML=$0;this.$ttaLength=$1", value, plainLength);
+    }
+    
+    private TagProcessor<T> createTagProcessor() {
+      return new TagProcessor<>(getTagSource(), wordMatching, triggers.values());
     }
 	
 	/**
 	 * Updates the value of the component after the span has been created from the client side.
 	 * 
+	 * The length reported by the client is not trusted, as it is used for validating the max
+	 * length: the length is counted again on the server, and the client is corrected if its count
+	 * differs.
+	 * 
 	 * @param htmlContent the updated HTML content
+	 * @param length the length of the text content, as maintained by the client
 	 */
 	@ClientCallable
-	void updateContent(String htmlContent) {
-	    super.setValue(htmlContent);
+	void updateContent(String htmlContent, int length) {
+		htmlContent = sanitizeContent(htmlContent);
+		if (Objects.equals(htmlContent, getHtmlValue())) {
+			// nothing changed, e.g. an input event that did not modify the content
+			return;
+		}
+		long start = System.nanoTime();
+		valueRevision++;
+		plainLength = TagProcessor.textLength(htmlContent);
+		if (length != plainLength) {
+			content.getElement().executeJs("this.$ttaLength=$0", plainLength);
+		}
+		recordEdit(getHtmlValue(), htmlContent);
+		Optional<UI> ui = getUI();
+		if (coalesceValueChanges && htmlContent != null && ui.isPresent()) {
+			if (pendingContent == null) {
+				ui.get().beforeClientResponse(this, context -> flushPendingContent());
+			}
+			pendingContent = htmlContent;
+		} else {
+			super.setValue(htmlContent);
+		}
+		if (metrics != TaggableTextAreaMetrics.NOOP) {
+			metrics.recordPayloadSize(TaggableTextAreaMetrics.Operation.UPDATE_CONTENT, TaggableTextAreaMetrics.utf8Length(htmlContent));
+			metrics.recordTime(TaggableTextAreaMetrics.Operation.UPDATE_CONTENT, System.nanoTime() - start);
+		}
+	}
+	
+	private void recordEdit(String oldHtml, String newHtml) {
+		if (historySize == 0 || Objects.equals(oldHtml, newHtml)) {
+			return;
+		}
+		pushHistory(undoHistory, document);
+		redoHistory.clear();
+		document = document.apply(oldHtml == null ? "" : oldHtml, newHtml == null ? "" : newHtml);
+	}
+	
+	private void pushHistory(ArrayDeque<Rope> history, Rope version) {
+		history.push(version);
+		while (history.size() > historySize) {
+			history.removeLast();
+		}
+	}
+	
+	/**
+	 * Sets the amount of changes of the content that can be undone with {@link #undo()}. Every
+	 * content change pushed by the client, every tag inserted and every value set is a change. The
+	 * versions of the content share their unchanged parts, so a long history of a long content
+	 * costs little more memory than the changes themselves. Disabled (0) by default.
+	 * 
+	 * @param historySize the amount of changes kept, 0 to disable the history
+	 */
+	public void setHistorySize(int historySize) {
+		if (historySize < 0) {
+			throw new IllegalArgumentException("History size cannot be negative");
+		}
+		this.historySize = historySize;
+		if (historySize == 0) {
+			document = null;
+			undoHistory.clear();
+			redoHistory.clear();
+		} else {
+			if (document == null) {
+				document = Rope.of(getHtmlValue());
+			}
+			while (undoHistory.size() > historySize) {
+				undoHistory.removeLast();
+			}
+			while (redoHistory.size() > historySize) {
+				redoHistory.removeLast();
+			}
+		}
+	}
+	
+	/**
+	 * Returns the amount of changes of the content that can be undone.
+	 * 
+	 * @return the size of the history, 0 if disabled
+	 */
+	public int getHistorySize() {
+		return historySize;
+	}
+	
+	/**
+	 * Returns whether there is a change that can be undone.
+	 * 
+	 * @return true if {@link #undo()} would change the content
+	 */
+	public boolean canUndo() {
+		return !undoHistory.isEmpty();
+	}
+	
+	/**
+	 * Returns whether there is an undone change that can be redone.
+	 * 
+	 * @return true if {@link #redo()} would change the content
+	 */
+	public boolean canRedo() {
+		return !redoHistory.isEmpty();
+	}
+	
+	/**
+	 * Restores the content before the last change, see {@link #setHistorySize(int)}.
+	 * 
+	 * @return true if a change was undone, false if there was nothing to undo
+	 */
+	public boolean undo() {
+		if (undoHistory.isEmpty()) {
+			return false;
+		}
+		flushPendingContent();
+		pushHistory(redoHistory, document);
+		showDocument(undoHistory.pop());
+		return true;
+	}
+	
+	/**
+	 * Applies again the last change undone with {@link #undo()}. Any other change of the content
+	 * clears the changes that can be redone.
+	 * 
+	 * @return true if a change was redone, false if there was nothing to redo
+	 */
+	public boolean redo() {
+		if (redoHistory.isEmpty()) {
+			return false;
+		}
+		flushPendingContent();
+		pushHistory(undoHistory, document);
+		showDocument(redoHistory.pop());
+		return true;
+	}
+	
+	/**
+	 * Returns a snapshot of the current content. When the history is enabled the content is not
+	 * copied, see {@link ContentSnapshot}.
+	 * 
+	 * @return the snapshot
+	 */
+	public ContentSnapshot getSnapshot() {
+		return new ContentSnapshot(document != null ? document : Rope.of(getHtmlValue()));
+	}
+	
+	/**
+	 * Restores the content of a snapshot. When the history is enabled, the restore can be undone.
+	 * 
+	 * @param snapshot the snapshot to restore
+	 */
+	public void restore(ContentSnapshot snapshot) {
+		Objects.requireNonNull(snapshot, "Snapshot cannot be null");
+		flushPendingContent();
+		if (historySize > 0) {
+			pushHistory(undoHistory, document);
+			redoHistory.clear();
+		}
+		showDocument(snapshot.getDocument());
+	}
+	
+	private void showDocument(Rope version) {
+		valueRevision++;
+		if (historySize > 0) {
+			document = version;
+		}
+		renderValue(version.toString());
+	}
+	
+	/**
+	 * Sanitizes the content pushed by the client before it is set as the value. By default only the
+	 * structure produced by the component is allowed, see {@link TagProcessor#sanitize(String)}, so
+	 * this method should be overridden together with {@link #decorateWithSpan(TagMatch)} if the
+	 * tags are decorated with other markup.
+	 * 
+	 * @param htmlContent the content pushed by the client
+	 * @return the sanitized content, the same instance if nothing was removed
+	 */
+	protected String sanitizeContent(String htmlContent) {
+		return TagProcessor.sanitize(htmlContent);
+	}
+	
+	private void flushPendingContent() {
+		if (pendingContent != null) {
+			String htmlContent = pendingContent;
+			pendingContent = null;
+			super.setValue(htmlContent);
+		}
+	}
+	
+	/**
+	 * Sets whether the content changes pushed by the client within the same request are coalesced
+	 * into a single value change event, fired before the response is sent. The value returned by
+	 * {@link #getValue()} and {@link #getHtmlValue()} is always up to date. Disabled by default.
+	 * 
+	 * @param coalesceValueChanges true to fire a single value change event per request
+	 */
+	public void setCoalesceValueChanges(boolean coalesceValueChanges) {
+		this.coalesceValueChanges = coalesceValueChanges;
+		if (!coalesceValueChanges) {
+			flushPendingContent();
+		}
+	}
+	
+	/**
+	 * Returns whether the content changes pushed by the client within the same request are
+	 * coalesced into a single value change event.
+	 * 
+	 * @return true if a single value change event is fired per request
+	 */
+	public boolean isCoalesceValueChanges() {
+		return coalesceValueChanges;
 	}
 	
 	@Override
 	public void setInvalid(boolean invalid) {
 		int max = getMaxLength();
-		if (max > 0 && getPlainValue().length() <= max) {
+		if (max > 0 && plainLength <= max) {
 			super.setInvalid(false);
 		} else {
 			super.setInvalid(invalid);
@@ -216,25 +597,55 @@ public class TaggableTextArea<T> extends TextArea {
 	}
 
     /**
-     * Shows the popup for selecting the tag after the at key was pressed from the client side.
+     * Shows the popup for selecting the tag after the at key, or the character of a
+     * {@link TagTrigger}, was pressed from the client side.
+     * 
+     * @param trigger the pressed character
      */
 	@ClientCallable
-	void showPopup() {
+	void showPopup(String trigger) {
+		long start = System.nanoTime();
+		try {
+			doShowPopup(trigger);
+		} finally {
+			metrics.recordTime(TaggableTextAreaMetrics.Operation.SHOW_POPUP, System.nanoTime() - start);
+		}
+	}
+	
+	private void doShowPopup(String trigger) {
+		TagTrigger<?> tagTrigger = trigger == null || trigger.length() != 1 ? null : triggers.get(trigger.charAt(0));
 		popup = new Popup();
 		popup.setFor("mention-marker");
-		HasValueAndElement<?,T> selector = createSelector();
+		if (tagTrigger == null) {
+			HasValueAndElement<?,T> selector = createSelector();
+			popupSelector = selector;
+			showSelector(selector, item -> replaceTag(tagSource.getLabel(item), null));
+		} else {
+			showTriggerSelector(tagTrigger);
+		}
+		popup.setOpened(true);
+		this.getElement().appendChild(popup.getElement());
+		popup.setCloseOnClick(true);
+	}
+	
+	private <S> void showTriggerSelector(TagTrigger<S> trigger) {
+		showSelector(trigger.createSelector(), item -> replaceTag(trigger.getTagSource().getLabel(item), trigger));
+	}
+	
+	private <S> void showSelector(HasValueAndElement<?,S> selector, SerializableConsumer<S> selectionHandler) {
+		if (selector instanceof BaseFilterListSelector) {
+			((BaseFilterListSelector<?>) selector).setMetrics(metrics);
+		}
 		popup.add(selector.getElement().getComponent().get());
 		selector.addValueChangeListener(ev->{
-			TaggableTextArea.this.replaceTag(labelGenerator.apply(ev.getValue()));
+			selectionHandler.accept(ev.getValue());
 			popup.setOpened(false);
 			popup.getElement().executeJs("return;").then(ev2->{
 				popup.getElement().removeFromParent();
 				popup=null;
+				popupSelector=null;
 			});
 		});
-		popup.setOpened(true);
-		this.getElement().appendChild(popup.getElement());
-		popup.setCloseOnClick(true);
 	}
 	
 	/**
@@ -247,48 +658,527 @@ public class TaggableTextArea<T> extends TextArea {
 	}
 
 	/**
-	 * Shows the popup that will be shown after the tag was clicked.
+	 * Shows the popup that will be shown after the tag was clicked. A single popup is reused for all
+	 * the tags of the component, moved to the clicked tag, and the tag it is open for is tracked on
+	 * the server, so clicking again on the same tag does not need to ask the client.
 	 * 
 	 * @param tagId   the ID of the tag element
      * @param tagName the name of the tag
+     * @param trigger the {@code data-trigger} attribute of the tag element, null for the tags of
+     *        the items of the component
 	 */
 	@ClientCallable
-	void showTagPopup(String tagId, String tagName) {
-		for (T item : items) {
-			if (tagName.equals(labelGenerator.apply(item))) {
-				if (!tagPopupVisibilityFunction.apply(item)) {
-					return;
+	void showTagPopup(String tagId, String tagName, String trigger) {
+		long start = System.nanoTime();
+		try {
+			doShowTagPopup(tagId, tagName, trigger);
+		} finally {
+			metrics.recordTime(TaggableTextAreaMetrics.Operation.SHOW_TAG_POPUP, System.nanoTime() - start);
+		}
+	}
+	
+	private void doShowTagPopup(String tagId, String tagName, String trigger) {
+		// the trigger is read from the element, a label of the items may start with its character
+		TagTrigger<?> tagTrigger = trigger == null || trigger.length() != 1 ? null : triggers.get(trigger.charAt(0));
+		if (tagTrigger != null && tagName.startsWith(trigger)) {
+			showTriggerTagPopup(tagTrigger, tagId, tagName.substring(1));
+			return;
+		}
+		T relatedItem = getTagSource().findByLabel(tagName).orElse(null);
+		if (relatedItem != null && !tagPopupVisibilityFunction.apply(relatedItem)) {
+			return;
+		}
+		if (tagId.equals(tagPopupTargetId)) {
+			return;
+		}
+		ensureTagPopup();
+		tagPopup.removeAll();
+		tagPopupTargetId = tagId;
+		showTagPopupContent(relatedItem, tagId);
+		tagPopup.setFor(tagId);
+		tagPopup.setOpened(true);
+	}
+	
+	private <S> void showTriggerTagPopup(TagTrigger<S> trigger, String tagId, String label) {
+		if (tagId.equals(tagPopupTargetId)) {
+			return;
+		}
+		S relatedItem = trigger.getTagSource().findByLabel(label).orElse(null);
+		Component contentComponent = relatedItem == null ? null : trigger.createTagPopupContent(relatedItem);
+		if (contentComponent == null) {
+			return;
+		}
+		ensureTagPopup();
+		tagPopup.removeAll();
+		tagPopupTargetId = tagId;
+		tagPopup.add(contentComponent);
+		tagPopup.setFor(tagId);
+		tagPopup.setOpened(true);
+	}
+	
+	private void ensureTagPopup() {
+		if (tagPopup == null) {
+			tagPopup = new Popup();
+			tagPopup.setCloseOnClick(true);
+			tagPopup.addPopupOpenChangedEventListener(ev -> {
+				if (!ev.isOpened()) {
+					tagPopupTargetId = null;
 				}
-			}
+			});
+			this.getElement().appendChild(tagPopup.getElement());
 		}
-		this.getElement().executeJs(""
-		        + "let result = false;\n"
-		        + "for (let child of this.children) {\n"
-		        + "    if (child.tagName.toLowerCase() === 'vcf-popup') {\n"
-		        + "        if (child._targetElement && child._targetElement.id === $0) {\n"
-		        + "            result = true;\n"
-		        + "            break;\n"
-		        + "        }\n"
-		        + "    }\n"
-		        + "}\n"
-		        + "return result;", tagId).then(result -> {
-					if (!result.asBoolean()) {
-						Popup popup = new Popup();
-						popup.setFor(tagId);
-						T relatedItem = null;
-						for (T item : items) {
-							String label = labelGenerator.apply(item);
-							if (label.equals(tagName)) {
-								relatedItem = item;
-							}
-						}
-						Component contentComponent = createTagPopupContent(relatedItem);
-						popup.add(contentComponent);
-						popup.setOpened(true);
-						this.getElement().appendChild(popup.getElement());
-						popup.setCloseOnClick(true);
+	}
+	
+	private void showTagPopupContent(T relatedItem, String tagId) {
+		Component cached = tagPopupContentCache == null ? null : tagPopupContentCache.get(relatedItem);
+		if (cached != null) {
+			tagPopup.add(cached);
+			return;
+		}
+		CompletableFuture<? extends Component> future = createTagPopupContentAsync(relatedItem);
+		if (future.isDone() && !future.isCompletedExceptionally()) {
+			Component contentComponent = future.join();
+			cacheTagPopupContent(relatedItem, contentComponent);
+			tagPopup.add(contentComponent);
+			return;
+		}
+		tagPopup.add(createTagPopupPlaceholder());
+		getUI().ifPresent(ui -> future.whenComplete((contentComponent, error) -> ui.access(() -> {
+			if (contentComponent != null) {
+				cacheTagPopupContent(relatedItem, contentComponent);
+			}
+			if (tagPopup == null || !tagId.equals(tagPopupTargetId)) {
+				// the popup was closed or moved to another tag in the meantime
+				return;
+			}
+			tagPopup.removeAll();
+			if (contentComponent != null) {
+				tagPopup.add(contentComponent);
+			} else {
+				tagPopupTargetId = null;
+				tagPopup.setOpened(false);
+			}
+		})));
+	}
+	
+	private void cacheTagPopupContent(T relatedItem, Component contentComponent) {
+		if (tagPopupContentCacheSize > 0) {
+			if (tagPopupContentCache == null) {
+				int maxSize = tagPopupContentCacheSize;
+				tagPopupContentCache = new LinkedHashMap<T, Component>(16, 0.75f, true) {
+					@Override
+					protected boolean removeEldestEntry(Map.Entry<T, Component> eldest) {
+						return size() > maxSize;
 					}
-				});;
+				};
+			}
+			tagPopupContentCache.put(relatedItem, contentComponent);
+		}
+	}
+	
+	/**
+	 * Sets the amount of tag popup contents that are kept, by item, so clicking again on a tag of the
+	 * same item reuses the content instead of calling {@link #createTagPopupContent(Object)} again.
+	 * When the cache is full the least recently shown content is discarded. The cache is cleared
+	 * when the component is detached. Defaults to 0, which disables the cache.
+	 * 
+	 * @param tagPopupContentCacheSize the maximum amount of cached contents, 0 to disable the cache
+	 */
+	public void setTagPopupContentCacheSize(int tagPopupContentCacheSize) {
+		if (tagPopupContentCacheSize < 0) {
+			throw new IllegalArgumentException("Cache size cannot be negative");
+		}
+		this.tagPopupContentCacheSize = tagPopupContentCacheSize;
+		tagPopupContentCache = null;
+	}
+	
+	/**
+	 * Returns the amount of tag popup contents that are kept.
+	 * 
+	 * @return the maximum amount of cached contents, 0 if the cache is disabled
+	 */
+	public int getTagPopupContentCacheSize() {
+		return tagPopupContentCacheSize;
+	}
+	
+	/**
+	 * Sets the metrics receiving the timings of the server callbacks, the sizes of the HTML content
+	 * exchanged with the client and the amount of tags found. The metrics are also passed to the
+	 * selector shown in the popup, when it is a {@link BaseFilterListSelector}. An instance of
+	 * {@link InMemoryTaggableTextAreaMetrics} can be used to aggregate the measurements of all the
+	 * components of the application. The metrics are not serialized, so they must be set again
+	 * after deserializing the component, which reports to {@link TaggableTextAreaMetrics#NOOP}
+	 * until then.
+	 * 
+	 * @param metrics the metrics, not null
+	 */
+	public void setMetrics(TaggableTextAreaMetrics metrics) {
+		this.metrics = Objects.requireNonNull(metrics, "Metrics cannot be null");
+	}
+	
+	/**
+	 * Returns the metrics receiving the measurements of the component.
+	 * 
+	 * @return the metrics, {@link TaggableTextAreaMetrics#NOOP} by default
+	 */
+	public TaggableTextAreaMetrics getMetrics() {
+		return metrics;
+	}
+	
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		metrics = TaggableTextAreaMetrics.NOOP;
+		if (defaultTagSource) {
+			items = ((InMemoryTagSource<T>) tagSource).getItemList();
+		} else {
+			items = new ArrayList<>();
+		}
+	}
+	
+	/**
+	 * Sets the executor used to find the tags of large values in the background. When set, values of
+	 * at least {@link #getAsyncDecorationThreshold()} characters are shown right away without
+	 * decoration, and decorated when the tags have been found, using
+	 * {@link UI#access(com.vaadin.flow.server.Command)}, so server push should be enabled to show
+	 * them without waiting for the next request. If the value is changed in the meantime, e.g. by
+	 * the user, the decoration is discarded. The executor is not serialized, so it has to be set
+	 * again after deserialization.
+	 * 
+	 * @param decorationExecutor the executor, or null to always decorate the values synchronously
+	 */
+	public void setDecorationExecutor(Executor decorationExecutor) {
+		this.decorationExecutor = decorationExecutor;
+	}
+	
+	/**
+	 * Returns the executor used to find the tags of large values in the background.
+	 * 
+	 * @return the executor, null if the values are decorated synchronously
+	 */
+	public Executor getDecorationExecutor() {
+		return decorationExecutor;
+	}
+	
+	/**
+	 * Sets the minimum length of the values decorated in the background, when a
+	 * {@link #setDecorationExecutor(Executor) decoration executor} is set. Defaults to 10000
+	 * characters.
+	 * 
+	 * @param asyncDecorationThreshold the minimum length, 0 to decorate all the values in the
+	 *        background
+	 */
+	public void setAsyncDecorationThreshold(int asyncDecorationThreshold) {
+		if (asyncDecorationThreshold < 0) {
+			throw new IllegalArgumentException("Threshold cannot be negative");
+		}
+		this.asyncDecorationThreshold = asyncDecorationThreshold;
+	}
+	
+	/**
+	 * Returns the minimum length of the values decorated in the background.
+	 * 
+	 * @return the minimum length
+	 */
+	public int getAsyncDecorationThreshold() {
+		return asyncDecorationThreshold;
+	}
+	
+	/**
+	 * Sets the amount of items of the selector prefetched when the content gets focus, so the
+	 * selector opened by a mention shows them without querying the {@link TagSource}, and they are
+	 * sent with the response opening the popup. Useful when the component was created with a slow
+	 * source, e.g. a remote directory. Disabled (0) by default.
+	 * <p>
+	 * When the items have a version, i.e. the component was created with a list, an
+	 * {@link InMemoryTagSource}, a {@link TagCatalog} or a {@link SharedTagCatalog}, the items are
+	 * prefetched on the first focus only, and kept until the items or the usage statistics change;
+	 * the selector opened after a change fetches them again. With other sources they are prefetched
+	 * on every focus, at the cost of a round trip, and used by the next selector only. When enabled,
+	 * the selector of a component created with a list fetches the items from its
+	 * {@link #getTagSource() source} too, so they are filtered by label.
+	 * 
+	 * @param prefetchSize the amount of items prefetched, usually the page size of the selector (50),
+	 *        or 0 to disable prefetching
+	 */
+	public void setPrefetchSize(int prefetchSize) {
+		if (prefetchSize < 0) {
+			throw new IllegalArgumentException("Prefetch size cannot be negative");
+		}
+		this.prefetchSize = prefetchSize;
+		prefetched = null;
+		if (prefetchSize > 0 && prefetchRegistration == null) {
+			prefetchRegistration = content.getElement().addEventListener("focus", ev -> prefetch());
+		} else if (prefetchSize == 0 && prefetchRegistration != null) {
+			prefetchRegistration.remove();
+			prefetchRegistration = null;
+		}
+	}
+	
+	/**
+	 * Returns the amount of items of the selector prefetched when the content gets focus.
+	 * 
+	 * @return the amount of items, 0 if prefetching is disabled
+	 */
+	public int getPrefetchSize() {
+		return prefetchSize;
+	}
+	
+	/**
+	 * Sets the statistics recording the usage of the items of the component, shared by the
+	 * components of the application, and the user they are recorded for. Every tag inserted with the
+	 * selector or the inline completion, and every tag of a value returned by
+	 * {@link #obtainUsedTags()}, is recorded, and the selector and the inline completion list first
+	 * the items the user, and then everyone, used most recently. The statistics are not serialized,
+	 * so they must be set again after deserializing the component.
+	 * 
+	 * @param usageStatistics the statistics, or null to stop recording and ranking
+	 * @param userId the id of the user, or null to use the global usage only
+	 */
+	public void setUsageStatistics(TagUsageStatistics usageStatistics, String userId) {
+		this.usageStatistics = usageStatistics;
+		this.usageUserId = userId;
+		prefetched = null;
+		countedKeys.clear();
+		if (inlineCompletion) {
+			sendInlineSuggestions();
+		}
+	}
+	
+	/**
+	 * Returns the statistics recording the usage of the items of the component.
+	 * 
+	 * @return the statistics, or null if none was set
+	 */
+	public TagUsageStatistics getUsageStatistics() {
+		return usageStatistics;
+	}
+	
+	/**
+	 * Returns the source of the selector and the inline completion, listing first the most used
+	 * items when there are usage statistics.
+	 */
+	private TagSource<T> rankedTagSource() {
+		return usageStatistics == null ? getTagSource()
+				: new RankedTagSource<>(getTagSource(), usageStatistics, usageUserId, RANKED_ITEM_COUNT);
+	}
+	
+	private void recordUsage(String key) {
+		if (usageStatistics != null && key != null) {
+			usageStatistics.record(usageUserId, key);
+			countedKeys.add(key);
+		}
+	}
+	
+	/**
+	 * Enables or disables the inline completion of the tags. When enabled, typing "@" does not open
+	 * the selector popup: the label is typed after it, the first suggestion starting with the typed
+	 * text is shown after it as ghost text, and Tab inserts the tag. The client keeps the
+	 * {@link #setInlineSuggestionCount(int) first suggestions}, sent when the completion is enabled
+	 * or the component is attached, and requests more only when none of them matches. The characters
+	 * of the {@link TagTrigger triggers} keep opening their popup. Disabled by default.
+	 * 
+	 * @param inlineCompletion true to complete the tags inline, false to select them in the popup
+	 */
+	public void setInlineCompletion(boolean inlineCompletion) {
+		this.inlineCompletion = inlineCompletion;
+		getElement().setProperty("inlineCompletion", inlineCompletion);
+		if (inlineCompletion) {
+			sendInlineSuggestions();
+		}
+	}
+	
+	/**
+	 * Returns whether the tags are completed inline instead of selected in the popup.
+	 * 
+	 * @return true if the inline completion is enabled
+	 */
+	public boolean isInlineCompletion() {
+		return inlineCompletion;
+	}
+	
+	/**
+	 * Sets the amount of suggestions sent to the client at once for the inline completion. Defaults
+	 * to 10.
+	 * 
+	 * @param inlineSuggestionCount the amount of suggestions, at least 1
+	 */
+	public void setInlineSuggestionCount(int inlineSuggestionCount) {
+		if (inlineSuggestionCount < 1) {
+			throw new IllegalArgumentException("Suggestion count must be at least 1");
+		}
+		this.inlineSuggestionCount = inlineSuggestionCount;
+		if (inlineCompletion) {
+			sendInlineSuggestions();
+		}
+	}
+	
+	/**
+	 * Returns the amount of suggestions sent to the client at once for the inline completion.
+	 * 
+	 * @return the amount of suggestions
+	 */
+	public int getInlineSuggestionCount() {
+		return inlineSuggestionCount;
+	}
+	
+	private void sendInlineSuggestions() {
+		List<String> labels = suggestLabels("");
+		getElement().setPropertyJson("inlineSuggestions", toJson(labels));
+		getElement().setProperty("inlineSuggestionsComplete", labels.size() < inlineSuggestionCount || getTagSource().count("") <= labels.size());
+	}
+	
+	/**
+	 * Returns the labels starting with the given text, case insensitively, for the inline
+	 * completion. At most {@value #SUGGESTION_SCAN_LIMIT} items of the source are scanned, as the
+	 * source matches the text anywhere in the labels.
+	 */
+	List<String> suggestLabels(String query) {
+		String prefix = query.toLowerCase();
+		TagSource<T> tagSource = rankedTagSource();
+		return tagSource.search(query, 0, SUGGESTION_SCAN_LIMIT).map(tagSource::getLabel)
+				.filter(label -> label != null && label.toLowerCase().startsWith(prefix))
+				.distinct().limit(inlineSuggestionCount).collect(Collectors.toList());
+	}
+	
+	/**
+	 * Returns more suggestions for the inline completion, called from the client side when none of
+	 * the suggestions it has starts with the typed text.
+	 * 
+	 * @param query the text typed after the marker
+	 * @return the labels starting with the text
+	 */
+	@ClientCallable
+	JsonArray requestSuggestions(String query) {
+		return toJson(suggestLabels(query == null ? "" : query));
+	}
+	
+	/**
+	 * Replaces the marker with the tag of the suggestion accepted with Tab in the inline completion.
+	 * 
+	 * @param label the label of the accepted suggestion
+	 */
+	@ClientCallable
+	void acceptSuggestion(String label) {
+		if (label != null && getTagSource().findByLabel(label).isPresent()) {
+			replaceTag(label, null);
+		}
+	}
+	
+	private static JsonArray toJson(List<String> labels) {
+		JsonArray array = Json.createArray();
+		for (int i = 0; i < labels.size(); i++) {
+			array.set(i, labels.get(i));
+		}
+		return array;
+	}
+	
+	/**
+	 * Prefetches the first page of the selector, unless the prefetched one is still current. Called
+	 * when the content gets focus, and by the selector when the items changed since then.
+	 */
+	void prefetch() {
+		if (prefetchSize == 0) {
+			return;
+		}
+		long sourceVersion = getSourceVersion();
+		long usageVersion = usageStatistics == null ? 0 : usageStatistics.getVersion();
+		if (prefetched == null || !prefetched.isCurrent(sourceVersion, usageVersion)) {
+			TagSource<T> source = rankedTagSource();
+			List<T> firstPage = source.search("", 0, prefetchSize).collect(Collectors.toList());
+			int count = firstPage.size() < prefetchSize ? firstPage.size() : source.count("");
+			prefetched = new PrefetchedTagSource<>(source, firstPage, count, sourceVersion, usageVersion);
+		}
+		if (sourceVersion != UNVERSIONED && prefetchRegistration != null) {
+			// the selector fetches the page again after a change, so later focuses need no round trip
+			prefetchRegistration.remove();
+			prefetchRegistration = null;
+		}
+	}
+	
+	/**
+	 * Returns the version of the items, or {@link #UNVERSIONED} when the source has none.
+	 */
+	private long getSourceVersion() {
+		TagSource<T> source = getTagSource();
+		if (source instanceof InMemoryTagSource) {
+			return ((InMemoryTagSource<T>) source).getVersion();
+		} else if (source instanceof SharedTagCatalog) {
+			return ((SharedTagCatalog<T>) source).getVersion();
+		} else if (source instanceof TagCatalog) {
+			return ((TagCatalog<T>) source).getVersion();
+		}
+		return UNVERSIONED;
+	}
+	
+	/**
+	 * Returns the source of the selector answering the first page from the prefetched one.
+	 */
+	private TagSource<T> prefetchedTagSource() {
+		if (prefetched == null || prefetched.sourceVersion != UNVERSIONED) {
+			prefetch();
+		}
+		TagSource<T> source = prefetched;
+		if (prefetched.sourceVersion == UNVERSIONED) {
+			// it cannot be told whether the items changed, so it is used by this selector only
+			prefetched = null;
+		}
+		return source;
+	}
+	
+	/**
+	 * Sets when the client side listeners of the component are installed. With
+	 * {@link ClientInitMode#FOCUS} nothing is sent to the client until the user focuses or presses
+	 * the content, so the initial render does not grow with the amount of editors.
+	 * 
+	 * @param clientInitMode the init mode, not null
+	 */
+	public void setClientInitMode(ClientInitMode clientInitMode) {
+		this.clientInitMode = Objects.requireNonNull(clientInitMode, "Client init mode cannot be null");
+		if (clientInitMode == ClientInitMode.FOCUS) {
+			content.getElement().setAttribute("tta-lazy-init", true);
+		} else {
+			content.getElement().removeAttribute("tta-lazy-init");
+			if (getElement().getNode().isAttached()) {
+				initClient();
+			}
+		}
+	}
+	
+	/**
+	 * Returns when the client side listeners of the component are installed.
+	 * 
+	 * @return the init mode, {@link ClientInitMode#ATTACH} by default
+	 */
+	public ClientInitMode getClientInitMode() {
+		return clientInitMode;
+	}
+	
+	@Override
+	protected void onAttach(AttachEvent attachEvent) {
+		super.onAttach(attachEvent);
+		if (clientInitMode == ClientInitMode.ATTACH) {
+			initClient();
+		}
+		if (inlineCompletion) {
+			// the items may have changed while detached
+			sendInlineSuggestions();
+		}
+	}
+	
+	/**
+	 * Installs the listeners defined in taggable-text-area.js, which also enforce the max length,
+	 * blocking typing once the limit is reached and truncating pasted text.
+	 */
+	private void initClient() {
+		content.getElement().executeJs("window.Vaadin.TaggableTextArea.init(this)");
+	}
+	
+	@Override
+	protected void onDetach(DetachEvent detachEvent) {
+		super.onDetach(detachEvent);
+		tagPopupContentCache = null;
+		tagPopupTargetId = null;
 	}
 	
     /**
@@ -311,121 +1201,301 @@ public class TaggableTextArea<T> extends TextArea {
 	protected Component createTagPopupContent(T relatedItem) {
 		return new Span(""+relatedItem);
 	}
+	
+    /**
+     * Creates the popup content asynchronously, for contents that need to load data. When the
+     * returned future is not completed yet, the placeholder returned by
+     * {@link #createTagPopupPlaceholder()} is shown and replaced by the content when it completes.
+     * The content is added using {@link UI#access(com.vaadin.flow.server.Command)}, so server push
+     * should be enabled to show it without waiting for the next request. By default it completes
+     * immediately with the component returned by {@link #createTagPopupContent(Object)}.
+     * 
+     * @param relatedItem the related item
+     * @return a future completed with the component used as popup content
+     */
+	protected CompletableFuture<? extends Component> createTagPopupContentAsync(T relatedItem) {
+		return CompletableFuture.completedFuture(createTagPopupContent(relatedItem));
+	}
+	
+    /**
+     * Creates the component shown in the tag popup while the content returned by
+     * {@link #createTagPopupContentAsync(Object)} is not available. By default it is an
+     * indeterminate progress bar.
+     * 
+     * @return the placeholder component
+     */
+	protected Component createTagPopupPlaceholder() {
+		ProgressBar progressBar = new ProgressBar();
+		progressBar.setIndeterminate(true);
+		progressBar.setWidth("100px");
+		return progressBar;
+	}
 
     /**
-     * Returns a list of items that are currently used as tags in the text.
+     * Returns a list of items that are currently used as tags in the text, in the order they
+     * appear. An item used several times is included once per occurrence.
      * 
      * @return a list of used tags
      */
 	public List<T> obtainUsedTags() {
-		List<T> result = new ArrayList<T>();
-		String content = this.getValue();
-		for (T item : items) {
-			String itemLabel = labelGenerator.apply(item);
-			int index = content.indexOf(itemLabel);
-			while (index >= 0) {
-				result.add(item);
-				index = content.indexOf(itemLabel, index + itemLabel.length());
-			}
+		long start = System.nanoTime();
+		List<T> result = createTagProcessor().extractItems(this.getValue());
+		if (usageStatistics != null) {
+			result.stream().map(tagSource::getKey).filter(key -> !countedKeys.contains(key))
+					.collect(Collectors.toSet()).forEach(this::recordUsage);
 		}
+		metrics.recordTagCount(TaggableTextAreaMetrics.Operation.OBTAIN_USED_TAGS, result.size());
+		metrics.recordTime(TaggableTextAreaMetrics.Operation.OBTAIN_USED_TAGS, System.nanoTime() - start);
 		return result;
 	}
+	
+    /**
+     * Returns a list of the items of a trigger that are currently used as tags in the text, in the
+     * order they appear.
+     * 
+     * @param <S> the type of the items of the trigger
+     * @param trigger the trigger, added with {@link #addTrigger(TagTrigger)}
+     * @return a list of used tags
+     */
+	public <S> List<S> obtainUsedTags(TagTrigger<S> trigger) {
+		return createTagProcessor().extractItems(this.getValue(), trigger);
+	}
+	
+	/**
+	 * Adds a character that opens a popup for selecting a tag from the items of the trigger, besides
+	 * the at key used for the items of the component. A trigger added before replaces the one with
+	 * the same character.
+	 * 
+	 * @param trigger the trigger
+	 */
+	public void addTrigger(TagTrigger<?> trigger) {
+		triggers.put(trigger.getCharacter(), trigger);
+		updateTriggersProperty();
+	}
+	
+	/**
+	 * Removes the trigger with the given character.
+	 * 
+	 * @param character the trigger character
+	 */
+	public void removeTrigger(char character) {
+		triggers.remove(character);
+		updateTriggersProperty();
+	}
+	
+	/**
+	 * Returns the triggers added to the component.
+	 * 
+	 * @return an unmodifiable collection of the triggers
+	 */
+	public Collection<TagTrigger<?>> getTriggers() {
+		return Collections.unmodifiableCollection(triggers.values());
+	}
+	
+	private void updateTriggersProperty() {
+		StringBuilder characters = new StringBuilder("@");
+		triggers.keySet().forEach(characters::append);
+		getElement().setProperty("triggers", characters.toString());
+	}
 
     /**
      * Decorates the label with the span that can be styled to highlight the tag. It can be also
      * overwritten, but it should always contain a unique id so the popup can be opened in the
-     * correct position.
+     * correct position, see {@link #nextTagId()}.
+     * 
+     * The span is styled by the {@code mention-highlight} class, defined in the stylesheet
+     * shipped with the component.
      * 
      * @param label the label to be decorated
      * @return the decorated HTML string
      */
 	protected String decorateWithSpan(String label) {
-		return "<span class=\"mention-highlight\" contenteditable=false style=\"background-color:var(--lumo-contrast-10pct);color:var(--lumo-primary-text-color)\" id=\"span-" + UUID.randomUUID() + "\">" + label + "</span>";
+		return "<span class=\"mention-highlight\" contenteditable=\"false\" id=\"" + nextTagId() + "\">" + label + "</span>";
+	}
+	
+	/**
+	 * Decorates a tag found in the value. Tags without a trigger are decorated with
+	 * {@link #decorateWithSpan(String)}, and tags of a {@link TagTrigger} with the same markup,
+	 * adding the class name and the {@link TagProcessor#getTriggerAttribute(TagMatch) attribute} of
+	 * the trigger and keeping the trigger character before the label.
+	 * 
+	 * @param match the tag
+	 * @return the decorated HTML string
+	 */
+	protected String decorateWithSpan(TagMatch match) {
+		if (match.getTrigger() == null) {
+			return decorateWithSpan(match.getLabel());
+		}
+		return "<span class=\"" + TagProcessor.getClassName(match) + "\"" + TagProcessor.getTriggerAttribute(match) + " contenteditable=\"false\" id=\"" + nextTagId() + "\">" + TagProcessor.getText(match) + "</span>";
+	}
+	
+	/**
+	 * Returns a new id for a tag span, unique within the page. The ids are generated from a
+	 * sequence of the component, prefixed with a value unique for each component instance.
+	 * 
+	 * @return the tag id
+	 */
+	protected String nextTagId() {
+		return tagIdPrefix + Integer.toString(tagSequence++, 36);
+	}
+	
+	/**
+	 * Converts HTML produced by older versions of the component, where every tag had its style
+	 * inlined, to the current compact markup. Values with the legacy markup are still accepted by
+	 * {@link #setValue(String)}, this method is meant for migrating stored HTML values.
+	 * 
+	 * @param html the HTML value with the legacy markup
+	 * @return the HTML value with the compact markup
+	 */
+	public static String migrateLegacyMarkup(String html) {
+		if (html == null || !html.contains(LEGACY_TAG_STYLE)) {
+			return html;
+		}
+		return html.replace(LEGACY_TAG_STYLE, "").replace("contenteditable=false ", "contenteditable=\"false\" ");
 	}
 	
     /**
      * Creates the selector field that will be shown inside the popup to select the tag. By default
      * it will return a @link {@link FilterListSelector} containing the items converted to string
-     * with the toString() method. It can be overwritten so it uses a different component for
+     * with the toString() method, or fetching the items from the {@link TagSource} if the
+     * component was created with one or {@link #setPrefetchSize(int) prefetches} them. It can be overwritten so it uses a different component for
      * selecting the tags.
      * 
      * @return the selector component
      */
 	protected HasValueAndElement<?,T> createSelector() {
-		FilterListSelector<T> selector = new FilterListSelector<>(this.items);
-		selector.getElement().executeJs("return;").then(ev->selector.getElement().executeJs("this.focus();"));
-		selector.setFilterExpression((item, filterText) -> item.toString().toLowerCase().contains(filterText.toLowerCase()));
+		FilterListSelector<T> selector;
+		if (prefetchSize > 0) {
+			selector = new FilterListSelector<>(prefetchedTagSource());
+		} else if (defaultTagSource) {
+			selector = new FilterListSelector<>(rankItems(this.items));
+			selector.setFilterExpression((item, filterText) -> item.toString().toLowerCase().contains(filterText.toLowerCase()));
+		} else {
+			selector = new FilterListSelector<>(rankedTagSource());
+		}
+		BaseFilterListSelector.focusWhenVisible(selector.getElement());
 		return selector;
 	}
+	
+	/**
+	 * Returns the items with the most used ones first, when there are usage statistics.
+	 */
+	private List<T> rankItems(List<T> items) {
+		if (usageStatistics == null) {
+			return items;
+		}
+		List<T> ranked = new RankedTagSource<>(getTagSource(), usageStatistics, usageUserId, RANKED_ITEM_COUNT)
+				.getRankedItems("");
+		if (ranked.isEmpty()) {
+			return items;
+		}
+		Set<T> rankedSet = new HashSet<>(ranked);
+		List<T> result = new ArrayList<>(ranked);
+		items.stream().filter(item -> !rankedSet.contains(item)).forEach(result::add);
+		return result;
+	}
 
     /**
      * Replaces the mention-marker with the span that will contain a unique id, so it can be clicked.
      * 
-     * @param value the label of the tag to replace the placeholder
+     * The marker is replaced in the HTML value kept on the server, which the client sent after
+     * inserting it, and the client is sent the same markup to replace its marker, so the document
+     * does not need to be sent back.
+     * 
+     * @param label the label of the tag to replace the placeholder
+     * @param trigger the trigger of the tag, or null for the items of the component
      */
-	private void replaceTag(String value) {
+	private void replaceTag(String label, TagTrigger<?> trigger) {
+		long start = System.nanoTime();
+		try {
+			if (doReplaceTag(new TagMatch(0, 0, label, trigger)) && trigger == null) {
+				recordUsage(getTagSource().findByLabel(label).map(tagSource::getKey).orElse(null));
+			}
+		} finally {
+			metrics.recordTime(TaggableTextAreaMetrics.Operation.REPLACE_TAG, System.nanoTime() - start);
+		}
+	}
+	
+	private boolean doReplaceTag(TagMatch tag) {
+		flushPendingContent();
+		valueRevision++;
+		String html = getHtmlValue();
+		int markerStart = html == null ? -1 : html.indexOf(MENTION_MARKER);
+		int markerEnd = markerStart < 0 ? -1 : html.indexOf("</span>", markerStart);
 		int max = getMaxLength();
+		if (markerEnd < 0) {
+			removeClientMarker();
+			return false;
+		}
+		markerEnd += "</span>".length();
+		int markerLength = TagProcessor.textLength(html.substring(markerStart, markerEnd));
 		
-		// Get current text
-        String currentText = getValue();
-        String htmlContent = (String) this.getElement().getProperty("innerHTML");
-  
-        // Only subtract if the actual marker element exists in HTML
-        boolean hasMarker = htmlContent != null && htmlContent.contains("id=\"mention-marker\"");
-        int charsRemoving = hasMarker ? 1 : 0;
-  
-        // Check for leading space
-        int atIndex = currentText.lastIndexOf("@");
-        boolean needsLeadingSpace = false;
-        if (atIndex > 0) {
-            char charBefore = currentText.charAt(atIndex - 1);
-            // If not a space or newline, add one
-            if (charBefore != ' ' && charBefore != '\n' && charBefore != '\r') {
-                needsLeadingSpace = true;
-            }
-        }
+		// Add a leading space if the marker was typed right after a word or another tag
+		boolean needsLeadingSpace = needsLeadingSpace(html, markerStart);
 		
-		if (max > 0) {		  
-		  // Normalize length for the check
-          int currentLenght = currentText.replace("<br/>", "\n").length();
-          
-          // Math: current - marker + name + trailing space (1) + leading space (0 or 1)
-          int projectedLength = (currentLenght - charsRemoving) + value.length() + 1 + (needsLeadingSpace ? 1 : 0);
-
-          if (projectedLength > max) {
-              this.getElement().executeJs(
-                  "const marker = this.querySelector('#mention-marker');" +
-                  "if (marker) marker.remove();"
-              );
-              return;
-          }
+		// Math: current - marker + name + trailing space (1) + leading space (0 or 1)
+		String text = TagProcessor.getText(tag);
+		int projectedLength = (plainLength - markerLength) + text.length() + 1 + (needsLeadingSpace ? 1 : 0);
+		if (max > 0 && projectedLength > max) {
+			String withoutMarker = html.substring(0, markerStart) + html.substring(markerEnd);
+			recordEdit(html, withoutMarker);
+			super.setValue(withoutMarker);
+			plainLength -= markerLength;
+			removeClientMarker();
+			return false;
 		}
-
-		// If within limits, proceed with normal insertion logic
-		this.getElement().executeJs(""
+		
+		String tagHtml = (needsLeadingSpace ? " " : "") + decorateWithSpan(tag) + TRAILING_SPACE;
+		String withTag = html.substring(0, markerStart) + tagHtml + html.substring(markerEnd);
+		recordEdit(html, withTag);
+		super.setValue(withTag);
+		plainLength = projectedLength;
+		content.getElement().executeJs(""
 				+ "const marker = this.querySelector(\"#mention-marker\");\n"
 				+ "if (marker) {\n"
-				+ "  if ($1) {\n" // Add leading space if needed
-                + "    marker.before(document.createTextNode(\" \"));\n"
-                + "  }\n"
-				+ " const span = document.createElement(\"span\");\n"
-				+ " span.textContent = $0;\n"
-				+ " span.className = \"mention-highlight\";\n"
-				+ " span.id = \"span-" + UUID.randomUUID() + "\";\n"
-				+ " span.style.backgroundColor = \"var(--lumo-contrast-10pct)\";\n"
-				+ " span.style.color = \"var(--lumo-primary-text-color)\";\n"
-				+ " marker.replaceWith(span);\n"
-				+ " const cleanTextNode = document.createElement(\"span\");\n"
-				+ " cleanTextNode.innerHTML = '&nbsp;';\n"
-				+ " cleanTextNode.style.display = \"inline\";"
-				+ " span.after(cleanTextNode);"
+				+ " marker.insertAdjacentHTML(\"beforebegin\", $0);\n"
+				+ " const last = marker.previousSibling;\n"
+				+ " marker.remove();\n"
 				+ " const range = document.createRange();\n"
-				+ " range.setStartAfter(cleanTextNode);\n"
+				+ " range.setStartAfter(last);\n"
 				+ " range.collapse(true);\n"
 				+ " const selection = window.getSelection();\n"
 				+ " selection.removeAllRanges();\n"
 				+ " selection.addRange(range);\n"
-				+ "}", value, needsLeadingSpace).then((ev)->content.getElement().executeJs("this.parentNode.$server.updateContent(this.innerHTML);this.focus()"));
+				+ "}\n"
+				+ "this.$ttaLength = $1;\n"
+				+ "this.focus();", tagHtml, plainLength);
+		return true;
+	}
+	
+	/**
+	 * Tells whether the marker follows a word or a tag, from the last character of the text content
+	 * before it, skipping the markup, so no space is added after a space, e.g. the trailing space
+	 * inserted with the previous tag, or at the start of a line.
+	 */
+	static boolean needsLeadingSpace(String html, int markerStart) {
+		int i = markerStart;
+		while (i > 0) {
+			char charBefore = html.charAt(i - 1);
+			if (charBefore != '>') {
+				return !Character.isWhitespace(charBefore) && charBefore != '\u00a0'
+						&& !html.startsWith("&nbsp;", i - "&nbsp;".length());
+			}
+			int tagStart = html.lastIndexOf('<', i - 1);
+			if (tagStart < 0 || html.startsWith("<br", tagStart) || html.startsWith("<div", tagStart)
+					|| html.startsWith("</div", tagStart)) {
+				// the marker starts a new line
+				return false;
+			}
+			i = tagStart;
+		}
+		return false;
+	}
+	
+	private void removeClientMarker() {
+		content.getElement().executeJs("const marker = this.querySelector('#mention-marker');"
+				+ "if (marker) marker.remove();"
+				+ "this.$ttaLength = $0;", plainLength);
 	}
 	
     /**
@@ -436,28 +1506,17 @@ public class TaggableTextArea<T> extends TextArea {
      */
 	@Override
 	public String getValue() {
-		String htmlValue = super.getValue();
-		if (htmlValue == null || htmlValue.isEmpty()) {
-			return "";
-		}
-		
-		htmlValue = htmlValue.replaceFirst("<div>", "@@br@@");
-		htmlValue = htmlValue.replaceAll("<div><span class=\"mention-highlight\"", "@@br@@<span class=\"mention-highlight\"");
-		htmlValue = htmlValue.replaceAll("<br></div><div><div style=\"display: inline;\">", "@@br@@");
-		htmlValue = htmlValue.replaceAll("<div><div style=\"display: inline;\">", "@@br@@");
-		htmlValue = htmlValue.replaceAll("<div>", "@@br@@");
-		htmlValue = htmlValue.replaceAll("<br/>", "@@br@@");
-		htmlValue = htmlValue.replaceAll("<br>", "@@br@@");
-		String result = Jsoup.parse(htmlValue).text();
-		return result.replaceAll("@@br@@", "<br/>");
+		return TagProcessor.toPlainText(getHtmlValue());
 	}
 
-	private String getPlainValue() {
-		String result = this.getValue();
-		if (result == null || result.isEmpty()) {
-			return "";
-		}
-		return result.replaceAll("<br/>", "\n");
+	/**
+	 * Returns the length of the text content of the value, which is the length enforced by
+	 * {@link #setMaxLength(int)}.
+	 * 
+	 * @return the length
+	 */
+	int getPlainLength() {
+		return plainLength;
 	}
 
 	/**
@@ -466,7 +1525,7 @@ public class TaggableTextArea<T> extends TextArea {
 	 * @return the HTML value
 	 */
 	public String getHtmlValue() {
-		return super.getValue();
+		return pendingContent != null ? pendingContent : super.getValue();
 	}
 	
     @Override
@@ -495,8 +1554,13 @@ public class TaggableTextArea<T> extends TextArea {
 	
 	@Override
 	public void clear() {
+		flushPendingContent();
+		recordEdit(getHtmlValue(), "");
 		super.clear();
+		valueRevision++;
 		content.setText("");
+		plainLength = 0;
+		content.getElement().executeJs("this.$ttaLength=0");
 	}
 
     /**
@@ -513,6 +1577,8 @@ public class TaggableTextArea<T> extends TextArea {
     /**
      * Sets the function used to generate labels for tags.
      * This function determines how each item of type T is represented as a label in the text area.
+     * It is only used when the component was created with a list of items, a {@link TagSource}
+     * generates the labels of its own items.
      *
      * @param labelGenerator the label generator function to set; must not be null
      * @throws NullPointerException if the provided label generator is null
@@ -522,6 +1588,9 @@ public class TaggableTextArea<T> extends TextArea {
         throw new NullPointerException("Label generator cannot be null");
       }
       this.labelGenerator = labelGenerator;
+      if (defaultTagSource) {
+        this.tagSource = new InMemoryTagSource<>(items, labelGenerator);
+      }
     }
     
     /**
@@ -557,55 +1626,76 @@ public class TaggableTextArea<T> extends TextArea {
 	    // This allows the JS listener to read the current limit
 	    this.getElement().setProperty("maxlength", maxLength);
 	}
-
-    /**
-     * Enforces character limits (max-length). 
-     * <p>
-     * Key features:
-     * <ul>
-     * <li><b>Input Blocking:</b> Prevents typing once the limit is reached, excluding navigation
-     * and meta keys.</li>
-     * <li><b>Smart Truncation:</b> Intercepts paste events to automatically truncate text that
-     * exceeds the remaining space.</li>
-     * <li><b>Consistency:</b> Normalizes line breaks to ensure client-side and server-side counts
-     * match.</li>
-     * </ul>
-     */
-	private void initLengthEnforcement() {
-		content.getElement().executeJs(
-				"const el = this; " +
-						"const getLen = () => el.textContent.replace(/\\r?\\n/g, '\\n').length; " +
-						"el.addEventListener('keydown', (ev) => { " +
-						"  const max = el.parentNode.maxlength; " +
-						"  if (!max || max <= 0) return; " +
-						"  const isMeta = ev.ctrlKey || ev.metaKey || ev.altKey; " +
-						"  const isNav = ['Backspace', 'Delete', 'ArrowLeft', 'ArrowRight', 'ArrowUp', 'ArrowDown', 'Tab'].includes(ev.key); "
-						+
-						"  if (getLen() >= max && !isMeta && !isNav && (ev.key.length === 1 || ev.key === 'Enter')) { "
-						+
-						"    ev.preventDefault(); " +
-						"  } " +
-						"}); " +
-						"el.addEventListener('paste', (ev) => { " +
-						"  const max = el.parentNode.maxlength; " +
-						"  if (!max || max <= 0) return; " +
-						"  const pasted = (ev.clipboardData || window.clipboardData).getData('text'); " +
-						"  const current = getLen(); " +
-						"  const selection = window.getSelection(); " +
-						"  let selectedLength = 0; " +
-						"  if (!selection.isCollapsed) { " +
-						"    selectedLength = selection.toString().length; " +
-						"  } " +
-						"  const actualCurrent = current - selectedLength; " +
-						"  if (actualCurrent + pasted.length > max) { " +
-						"    ev.preventDefault(); " +
-						"    const space = max - actualCurrent; " +
-						"    if (space > 0) {"
-						+ " const allLineBreaks = pasted.match(/\\r\\n|\\r|\\n/g); "
-						+ " const allLineBreaksCount = allLineBreaks ? allLineBreaks.length : 0; "
-						+ " const substract = space + allLineBreaksCount; "
-						+ " document.execCommand('insertText', false, pasted.substring(0, substract)); }" +
-						"  } " +
-						"});");
+	
+	/**
+	 * Answers the queries of the selector without a filter from a prefetched first page, and the
+	 * other queries from the source.
+	 */
+	private static final class PrefetchedTagSource<T> implements TagSource<T> {
+		
+		private final TagSource<T> delegate;
+		private final List<T> firstPage;
+		private final int count;
+		private final long sourceVersion;
+		private final long usageVersion;
+		
+		private PrefetchedTagSource(TagSource<T> delegate, List<T> firstPage, int count,
+				long sourceVersion, long usageVersion) {
+			this.delegate = delegate;
+			this.firstPage = firstPage;
+			this.count = count;
+			this.sourceVersion = sourceVersion;
+			this.usageVersion = usageVersion;
+		}
+		
+		private boolean isCurrent(long sourceVersion, long usageVersion) {
+			return sourceVersion != UNVERSIONED && this.sourceVersion == sourceVersion
+					&& this.usageVersion == usageVersion;
+		}
+		
+		@Override
+		public Stream<T> search(String filterText, int offset, int limit) {
+			boolean unfiltered = filterText == null || filterText.isEmpty();
+			if (unfiltered && ((long) offset + limit <= firstPage.size() || firstPage.size() == count)) {
+				int from = Math.min(offset, firstPage.size());
+				return firstPage.subList(from, (int) Math.min((long) offset + limit, firstPage.size())).stream();
+			}
+			return delegate.search(filterText, offset, limit);
+		}
+		
+		@Override
+		public int count(String filterText) {
+			return filterText == null || filterText.isEmpty() ? count : delegate.count(filterText);
+		}
+		
+		@Override
+		public Optional<T> findByKey(String key) {
+			return delegate.findByKey(key);
+		}
+		
+		@Override
+		public Optional<T> findByLabel(String label) {
+			return delegate.findByLabel(label);
+		}
+		
+		@Override
+		public Map<String, T> findByLabels(Collection<String> labels) {
+			return delegate.findByLabels(labels);
+		}
+		
+		@Override
+		public List<TagMatch> findTags(String text, boolean wordMatching) {
+			return delegate.findTags(text, wordMatching);
+		}
+		
+		@Override
+		public String getLabel(T item) {
+			return delegate.getLabel(item);
+		}
+		
+		@Override
+		public String getKey(T item) {
+			return delegate.getKey(item);
+		}
 	}
 }
@@ -0,0 +1,122 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import java.io.Serializable;
+
+/**
+ * Receives measurements of the server side work done by {@link TaggableTextArea} and the
+ * selectors, so it can be forwarded to a monitoring system. All the methods do nothing by default,
+ * so implementations only need to override the measurements they are interested in.
+ *
+ * <p>The methods are called from the request handling threads of every component sharing the
+ * instance, so implementations must be thread-safe and should return quickly.
+ *
+ * @see InMemoryTaggableTextAreaMetrics
+ */
+public interface TaggableTextAreaMetrics extends Serializable {
+
+  /**
+   * Metrics that discard all the measurements, used by default. It is a singleton, also after
+   * deserialization.
+   */
+  TaggableTextAreaMetrics NOOP = NoopTaggableTextAreaMetrics.INSTANCE;
+
+  /**
+   * The measured operations.
+   */
+  enum Operation {
+    /** The client sent the edited HTML content. */
+    UPDATE_CONTENT,
+    /** The client asked to show the popup for selecting a tag. */
+    SHOW_POPUP,
+    /** The client asked to show the popup of a clicked tag. */
+    SHOW_TAG_POPUP,
+    /** A selected tag replaced the marker in the text. */
+    REPLACE_TAG,
+    /** A value was decorated and sent to the client. */
+    PROCESS_VALUE,
+    /** The used tags were extracted from the value. */
+    OBTAIN_USED_TAGS,
+    /** A selector filtered its items. */
+    FILTER
+  }
+
+  /**
+   * Records the time spent in an operation. Every call corresponds to one execution of the
+   * operation, so it can also be used to count them.
+   *
+   * @param operation the operation
+   * @param nanos the elapsed time, in nanoseconds
+   */
+  default void recordTime(Operation operation, long nanos) {}
+
+  /**
+   * Records the size of the HTML content received from or sent to the client in an operation.
+   *
+   * @param operation the operation
+   * @param bytes the size of the content encoded as UTF-8
+   */
+  default void recordPayloadSize(Operation operation, long bytes) {}
+
+  /**
+   * Records the amount of tags found in the value in an operation.
+   *
+   * @param operation the operation
+   * @param count the amount of tags
+   */
+  default void recordTagCount(Operation operation, int count) {}
+
+  /**
+   * Records the amount of items matching the filter of a selector. In the windowed mode of the
+   * {@link FilterListBoxSelector} all the matching items are counted, not only the rendered ones.
+   *
+   * @param size the amount of matching items
+   */
+  default void recordFilterResultSize(int size) {}
+
+  /**
+   * Returns the size of the text encoded as UTF-8, without encoding it.
+   *
+   * @param text the text, may be null
+   * @return the amount of bytes
+   */
+  static long utf8Length(CharSequence text) {
+    if (text == null) {
+      return 0;
+    }
+    long bytes = 0;
+    for (int i = 0, length = text.length(); i < length; i++) {
+      char c = text.charAt(i);
+      if (c < 0x80) {
+        bytes++;
+      } else if (c < 0x800) {
+        bytes += 2;
+      } else if (Character.isHighSurrogate(c) && i + 1 < length
+          && Character.isLowSurrogate(text.charAt(i + 1))) {
+        bytes += 4;
+        i++;
+      } else {
+        bytes += 3;
+      }
+    }
+    return bytes;
+  }
+}
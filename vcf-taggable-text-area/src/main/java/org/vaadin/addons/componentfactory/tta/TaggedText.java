@@ -0,0 +1,213 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.component.ComponentEvent;
+import com.vaadin.flow.component.ComponentEventListener;
+import com.vaadin.flow.component.HasSize;
+import com.vaadin.flow.component.HasStyle;
+import com.vaadin.flow.component.Tag;
+import com.vaadin.flow.component.dependency.CssImport;
+import com.vaadin.flow.shared.Registration;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A read-only component showing a value of a {@link TaggableTextArea}, as returned by
+ * {@link TaggableTextArea#getValue()}, with its tags highlighted. It has no editing support and
+ * runs no JavaScript, so it is light enough to be used in every row of a grid, see
+ * {@link TaggedTextRenderer}.
+ *
+ * <p>The tags are found by a {@link TagSource}, which should be shared by all the instances, so
+ * they use the same label index. The text is escaped, except for the {@code <br/>} line breaks.
+ *
+ * @param <T> the type of the items used as tags
+ */
+@SuppressWarnings("serial")
+@Tag(Tag.SPAN)
+@CssImport("./styles/taggable-text-area.css")
+public class TaggedText<T> extends Component implements HasSize, HasStyle {
+
+  private static final AtomicLong COMPONENT_SEQUENCE = new AtomicLong();
+
+  private final TagSource<T> tagSource;
+  private TagProcessor<T> processor;
+  private String value = "";
+  private String tagIdPrefix;
+
+  /**
+   * Creates an empty component finding the tags with the given source.
+   *
+   * @param tagSource the source of the items used as tags
+   */
+  public TaggedText(TagSource<T> tagSource) {
+    this(tagSource, false);
+  }
+
+  /**
+   * Creates an empty component finding the tags with the given source, with or without word
+   * matching, see {@link TaggableTextArea#setWordMatching(boolean)}.
+   *
+   * @param tagSource the source of the items used as tags
+   * @param wordMatching true to only find tags delimited by word boundaries
+   */
+  public TaggedText(TagSource<T> tagSource, boolean wordMatching) {
+    this.tagSource = Objects.requireNonNull(tagSource, "Tag source cannot be null");
+    this.processor = new TagProcessor<>(tagSource, wordMatching);
+    addClassName("tagged-text");
+  }
+
+  /**
+   * Creates a component showing the given value, finding the tags with the given source.
+   *
+   * @param tagSource the source of the items used as tags
+   * @param value the value, as returned by {@link TaggableTextArea#getValue()}
+   */
+  public TaggedText(TagSource<T> tagSource, String value) {
+    this(tagSource);
+    setValue(value);
+  }
+
+  /**
+   * Sets the value shown by the component.
+   *
+   * @param value the value, as returned by {@link TaggableTextArea#getValue()}
+   */
+  public void setValue(String value) {
+    this.value = value == null ? "" : value;
+    render();
+  }
+
+  /**
+   * Returns the value shown by the component.
+   *
+   * @return the value
+   */
+  public String getValue() {
+    return value;
+  }
+
+  /**
+   * Enables or disables word matching, see {@link TaggableTextArea#setWordMatching(boolean)}.
+   *
+   * @param wordMatching true to only find tags delimited by word boundaries
+   */
+  public void setWordMatching(boolean wordMatching) {
+    this.processor = new TagProcessor<>(tagSource, wordMatching);
+    if (!value.isEmpty()) {
+      render();
+    }
+  }
+
+  /**
+   * Returns whether word matching is enabled.
+   *
+   * @return true if only tags delimited by word boundaries are found
+   */
+  public boolean isWordMatching() {
+    return processor.isWordMatching();
+  }
+
+  /**
+   * Adds a listener called when a tag is clicked. Tags are only clickable, and have an id, after
+   * the first listener is added.
+   *
+   * @param listener the listener
+   * @return a registration for removing the listener
+   */
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  public Registration addTagClickListener(ComponentEventListener<TagClickEvent<T>> listener) {
+    if (tagIdPrefix == null) {
+      tagIdPrefix = "tagged-" + Long.toString(COMPONENT_SEQUENCE.incrementAndGet(), 36) + "-";
+      addClassName("tagged-text-clickable");
+      getElement().addEventListener("click", ev -> {
+        String label = ev.getEventData().getString("event.target.textContent");
+        fireEvent(new TagClickEvent<>(this, true, ev.getEventData().getString("event.target.id"),
+            label, tagSource.findByLabel(label).orElse(null)));
+      }).addEventData("event.target.id").addEventData("event.target.textContent")
+          .setFilter("event.target.classList.contains('mention-highlight')");
+      if (!value.isEmpty()) {
+        render();
+      }
+    }
+    return addListener(TagClickEvent.class, (ComponentEventListener) listener);
+  }
+
+  private void render() {
+    getElement().setProperty("innerHTML", processor.toDisplayHtml(value, tagIdPrefix));
+  }
+
+  /**
+   * Event fired when a tag of a {@link TaggedText} is clicked.
+   *
+   * @param <T> the type of the items used as tags
+   */
+  public static class TagClickEvent<T> extends ComponentEvent<TaggedText<T>> {
+
+    private final String tagId;
+    private final String label;
+    private final T item;
+
+    /**
+     * Creates a new event.
+     *
+     * @param source the component containing the clicked tag
+     * @param fromClient true if the event originated from the client side
+     * @param tagId the id of the clicked tag element
+     * @param label the label of the clicked tag
+     * @param item the item of the clicked tag, null if the source does not contain it anymore
+     */
+    public TagClickEvent(TaggedText<T> source, boolean fromClient, String tagId, String label,
+        T item) {
+      super(source, fromClient);
+      this.tagId = tagId;
+      this.label = label;
+      this.item = item;
+    }
+
+    /**
+     * Returns the id of the clicked tag element, which can be used to open a popup for it.
+     *
+     * @return the tag id
+     */
+    public String getTagId() {
+      return tagId;
+    }
+
+    /**
+     * Returns the label of the clicked tag.
+     *
+     * @return the label
+     */
+    public String getLabel() {
+      return label;
+    }
+
+    /**
+     * Returns the item of the clicked tag.
+     *
+     * @return the item, null if the source does not contain it anymore
+     */
+    public T getItem() {
+      return item;
+    }
+  }
+}
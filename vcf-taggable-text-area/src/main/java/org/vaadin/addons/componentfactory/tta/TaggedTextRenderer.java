@@ -0,0 +1,129 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import com.vaadin.componentfactory.Popup;
+import com.vaadin.flow.component.Component;
+import com.vaadin.flow.data.renderer.ComponentRenderer;
+import com.vaadin.flow.function.SerializableFunction;
+import com.vaadin.flow.function.ValueProvider;
+import java.util.Objects;
+
+/**
+ * Renders a value of a {@link TaggableTextArea} in a grid column, with its tags highlighted, using
+ * a {@link TaggedText} per row instead of a full text area.
+ *
+ * <pre>
+ * grid.addColumn(new TaggedTextRenderer&lt;&gt;(Note::getText, textArea.getTagSource()));
+ * </pre>
+ *
+ * <p>All the rows share the {@link TagSource}, and so its label index. When a tag popup content
+ * provider is set, the tags become clickable and show their content in a single popup shared by
+ * all the rows, which is only attached while it is open.
+ *
+ * @param <SOURCE> the type of the rendered items
+ * @param <T> the type of the items used as tags
+ */
+@SuppressWarnings("serial")
+public class TaggedTextRenderer<SOURCE, T> extends ComponentRenderer<TaggedText<T>, SOURCE> {
+
+  private final ValueProvider<SOURCE, String> valueProvider;
+  private final TagSource<T> tagSource;
+  private boolean wordMatching;
+  private SerializableFunction<T, Component> tagPopupContentProvider;
+  private Popup tagPopup;
+  private String tagPopupTargetId;
+
+  /**
+   * Creates a renderer showing the values returned by the value provider.
+   *
+   * @param valueProvider the provider of the value of a rendered item, as returned by
+   *        {@link TaggableTextArea#getValue()}
+   * @param tagSource the source of the items used as tags
+   */
+  public TaggedTextRenderer(ValueProvider<SOURCE, String> valueProvider, TagSource<T> tagSource) {
+    this.valueProvider = Objects.requireNonNull(valueProvider, "Value provider cannot be null");
+    this.tagSource = Objects.requireNonNull(tagSource, "Tag source cannot be null");
+  }
+
+  /**
+   * Enables or disables word matching, see {@link TaggableTextArea#setWordMatching(boolean)}. It
+   * should be set before the renderer is added to the grid.
+   *
+   * @param wordMatching true to only find tags delimited by word boundaries
+   */
+  public void setWordMatching(boolean wordMatching) {
+    this.wordMatching = wordMatching;
+  }
+
+  /**
+   * Makes the tags clickable, showing the component returned by the given provider for the item of
+   * the clicked tag in a popup shared by all the rows. It should be set before the renderer is
+   * added to the grid.
+   *
+   * @param tagPopupContentProvider the provider of the popup content for an item, or null to make
+   *        the tags not clickable
+   */
+  public void setTagPopupContentProvider(
+      SerializableFunction<T, Component> tagPopupContentProvider) {
+    this.tagPopupContentProvider = tagPopupContentProvider;
+  }
+
+  @Override
+  public TaggedText<T> createComponent(SOURCE item) {
+    // configured before setting the value, so the row is decorated once
+    TaggedText<T> taggedText = new TaggedText<>(tagSource, wordMatching);
+    if (tagPopupContentProvider != null) {
+      taggedText.addTagClickListener(ev -> {
+        if (ev.getItem() != null) {
+          showTagPopup(ev.getSource(), ev.getTagId(), ev.getItem());
+        }
+      });
+    }
+    taggedText.setValue(valueProvider.apply(item));
+    return taggedText;
+  }
+
+  private void showTagPopup(TaggedText<T> taggedText, String tagId, T item) {
+    if (tagId.equals(tagPopupTargetId)) {
+      return;
+    }
+    taggedText.getUI().ifPresent(ui -> {
+      if (tagPopup == null) {
+        tagPopup = new Popup();
+        tagPopup.setCloseOnClick(true);
+        tagPopup.addPopupOpenChangedEventListener(ev -> {
+          if (!ev.isOpened()) {
+            tagPopupTargetId = null;
+            tagPopup.getElement().removeFromParent();
+          }
+        });
+      }
+      if (!tagPopup.getUI().filter(ui::equals).isPresent()) {
+        ui.add(tagPopup);
+      }
+      tagPopup.removeAll();
+      tagPopup.add(tagPopupContentProvider.apply(item));
+      tagPopupTargetId = tagId;
+      tagPopup.setFor(tagId);
+      tagPopup.setOpened(true);
+    });
+  }
+}
@@ -0,0 +1,247 @@
+/*
+ * Client side listeners of the contenteditable content of TaggableTextArea. They are installed
+ * once per element, by init(content), either when the component is attached or, for components
+ * using the lazy init mode (marked with the tta-lazy-init attribute), on the first focus or
+ * pointer press on the content.
+ *
+ * The plain length of the content, used for enforcing the max length, is cached in the $ttaLength
+ * property. It is updated incrementally when text is typed, set by the server when it changes the
+ * content, and only counted again for other kinds of edits.
+ *
+ * In the inline completion mode the marker inserted by "@" stays in the text while the label is
+ * typed after it. The first of the suggestions provided by the server that starts with the typed
+ * text is shown after it as ghost text, in the data-ghost attribute of the marker, and accepted with
+ * Tab. More suggestions are requested only when none of the known ones matches.
+ */
+const countLen = (content) => content.textContent.replace(/\r?\n/g, '\n').length;
+
+const getLen = (content) => {
+  if (content.$ttaLength === undefined) {
+    content.$ttaLength = countLen(content);
+  }
+  return content.$ttaLength;
+};
+
+const updateContent = (content) => {
+  content.parentNode.$server.updateContent(content.innerHTML, getLen(content));
+};
+
+const placeCaretAfter = (node) => {
+  const range = document.createRange();
+  range.setStartAfter(node);
+  range.collapse(true);
+  const selection = window.getSelection();
+  selection.removeAllRanges();
+  selection.addRange(range);
+};
+
+const unwrapMarker = (marker, moveCaret) => {
+  const text = document.createTextNode(marker.textContent);
+  marker.replaceWith(text);
+  if (moveCaret) {
+    placeCaretAfter(text);
+  }
+};
+
+const findSuggestion = (content, query) => {
+  const lower = query.toLowerCase();
+  const labels = (content.parentNode.inlineSuggestions || []).concat(content.$ttaFetched || []);
+  return labels.find((label) => label.toLowerCase().startsWith(lower));
+};
+
+const updateGhost = (content) => {
+  const marker = content.querySelector('#mention-marker');
+  if (!marker) {
+    return;
+  }
+  const text = marker.textContent;
+  if (!text.startsWith('@')) {
+    unwrapMarker(marker, true);
+    return;
+  }
+  const query = text.substring(1);
+  const suggestion = findSuggestion(content, query);
+  marker.$ttaSuggestion = suggestion;
+  if (suggestion) {
+    marker.setAttribute('data-ghost', suggestion.substring(query.length));
+    return;
+  }
+  marker.removeAttribute('data-ghost');
+  const lower = query.toLowerCase();
+  const requested = content.$ttaRequested = content.$ttaRequested || [];
+  const host = content.parentNode;
+  if (!host.inlineSuggestionsComplete && !requested.some((prefix) => lower.startsWith(prefix))) {
+    // longer queries starting with a requested one are answered by the same request
+    requested.push(lower);
+    host.$server.requestSuggestions(query).then((labels) => {
+      content.$ttaFetched = (content.$ttaFetched || []).concat(labels);
+      if (labels.length > 0) {
+        // the server returns a limited amount, longer queries may need their own request
+        requested.splice(requested.indexOf(lower), 1);
+      }
+      updateGhost(content);
+    });
+  }
+};
+
+const init = (content) => {
+  if (content.$ttaInitialized) {
+    return;
+  }
+  content.$ttaInitialized = true;
+  const host = () => content.parentNode;
+
+  let typedLength = null;
+  content.addEventListener('beforeinput', (ev) => {
+    typedLength = ev.inputType === 'insertText' && ev.data && window.getSelection().isCollapsed
+      ? ev.data.length : null;
+  });
+  content.addEventListener('input', () => {
+    content.$ttaLength = typedLength !== null && content.$ttaLength !== undefined
+      ? content.$ttaLength + typedLength : countLen(content);
+    typedLength = null;
+    if (host().inlineCompletion) {
+      updateGhost(content);
+    }
+    updateContent(content);
+  });
+
+  content.addEventListener('click', (ev) => {
+    if (ev && ev.srcElement && ev.srcElement.id && ev.srcElement.id.startsWith('span')) {
+      host().$server.showTagPopup(ev.srcElement.id, ev.srcElement.textContent,
+        ev.srcElement.dataset.trigger || null);
+    }
+  });
+
+  // max-length enforcement: blocks typing once the limit is reached, excluding navigation and meta
+  // keys, and truncates pasted text that exceeds the remaining space
+  content.addEventListener('keydown', (ev) => {
+    const max = host().maxlength;
+    if (!max || max <= 0) return;
+    const isMeta = ev.ctrlKey || ev.metaKey || ev.altKey;
+    const isNav = ['Backspace', 'Delete', 'ArrowLeft', 'ArrowRight', 'ArrowUp', 'ArrowDown', 'Tab'].includes(ev.key);
+    if (getLen(content) >= max && !isMeta && !isNav && (ev.key.length === 1 || ev.key === 'Enter')) {
+      ev.preventDefault();
+    }
+  });
+  content.addEventListener('paste', (ev) => {
+    const max = host().maxlength;
+    if (!max || max <= 0) return;
+    const pasted = (ev.clipboardData || window.clipboardData).getData('text');
+    const current = getLen(content);
+    const selection = window.getSelection();
+    let selectedLength = 0;
+    if (!selection.isCollapsed) {
+      selectedLength = selection.toString().length;
+    }
+    const actualCurrent = current - selectedLength;
+    if (actualCurrent + pasted.length > max) {
+      ev.preventDefault();
+      const space = max - actualCurrent;
+      if (space > 0) {
+        const allLineBreaks = pasted.match(/\r\n|\r|\n/g);
+        const allLineBreaksCount = allLineBreaks ? allLineBreaks.length : 0;
+        document.execCommand('insertText', false, pasted.substring(0, space + allLineBreaksCount));
+      }
+    }
+  });
+
+  // trigger characters insert a marker and open the tag selection popup, or start an inline
+  // completion
+  content.addEventListener('keydown', (event) => {
+    const triggers = host().triggers || '@';
+    if (event.key.length === 1 && triggers.indexOf(event.key) >= 0) {
+      const max = host().maxlength;
+      if (max && max > 0 && getLen(content) >= max) {
+        event.preventDefault();
+        return;
+      }
+      const inline = host().inlineCompletion && event.key === '@';
+      const previous = content.querySelector('#mention-marker');
+      if (inline && previous) {
+        unwrapMarker(previous, false);
+      }
+      const range = window.getSelection().getRangeAt(0);
+      const marker = document.createElement('span');
+      marker.id = 'mention-marker';
+      marker.textContent = event.key;
+      range.insertNode(marker);
+      content.$ttaLength = getLen(content) + marker.textContent.length;
+      if (inline) {
+        // the label is typed inside the marker
+        const caret = document.createRange();
+        caret.setStart(marker.firstChild, marker.firstChild.length);
+        caret.collapse(true);
+        window.getSelection().removeAllRanges();
+        window.getSelection().addRange(caret);
+        updateGhost(content);
+        updateContent(content);
+      } else {
+        updateContent(content);
+        host().$server.showPopup(event.key);
+      }
+      event.preventDefault();
+    }
+  });
+
+  // inline completion: Tab accepts the suggestion, Escape, Enter or a space not continuing the
+  // suggestion leave the typed text as it is
+  content.addEventListener('keydown', (event) => {
+    if (!host().inlineCompletion) return;
+    const marker = content.querySelector('#mention-marker');
+    if (!marker) return;
+    if (event.key === 'Tab' && marker.$ttaSuggestion) {
+      event.preventDefault();
+      marker.removeAttribute('data-ghost');
+      host().$server.acceptSuggestion(marker.$ttaSuggestion);
+    } else if (event.key === 'Escape' || event.key === 'Enter'
+        || event.key === ' ' && !findSuggestion(content, marker.textContent.substring(1) + ' ')) {
+      unwrapMarker(marker, true);
+      if (event.key === 'Escape') {
+        updateContent(content);
+      }
+    }
+  });
+
+  // backspace removes a whole tag, as the default action is prevented no input event is fired
+  content.addEventListener('keydown', (event) => {
+    if (event.keyCode !== 8) return;
+    const removeTag = (tag) => {
+      tag.remove();
+      event.preventDefault();
+      content.$ttaLength = countLen(content);
+      updateContent(content);
+    };
+    const selection = window.getSelection();
+    if (selection.rangeCount > 0) {
+      const range = selection.getRangeAt(0);
+      const currentNode = range.startContainer;
+      const currentOffset = range.startOffset;
+      if (currentNode.nodeType === Node.TEXT_NODE) {
+        const parentNode = currentNode.parentNode;
+        if (parentNode && parentNode.nodeName === 'SPAN' && parentNode.classList.contains('mention-highlight')) {
+          removeTag(parentNode);
+          return;
+        }
+      }
+      if (currentNode.nodeType === Node.ELEMENT_NODE && currentOffset === 0) {
+        const previousNode = currentNode.previousSibling;
+        if (previousNode && previousNode.nodeName === 'SPAN' && previousNode.classList.contains('mention-highlight')) {
+          removeTag(previousNode);
+        }
+      }
+    }
+  });
+};
+
+const lazyInit = (ev) => {
+  const content = ev.target && ev.target.closest ? ev.target.closest('[tta-lazy-init]') : null;
+  if (content) {
+    init(content);
+  }
+};
+document.addEventListener('focusin', lazyInit, true);
+document.addEventListener('pointerdown', lazyInit, true);
+
+window.Vaadin = window.Vaadin || {};
+window.Vaadin.TaggableTextArea = { init };
@@ -0,0 +1,139 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.vaadin.flow.component.UI;
+
+import net.jcip.annotations.NotThreadSafe;
+
+@NotThreadSafe
+public class SerializedSizeTest {
+
+    private static final int CATALOG_SIZE = 10000;
+
+    /**
+     * Maximum serialized size of a component not containing its items, generous enough for changes
+     * of the framework internals.
+     */
+    private static final int MAX_INSTANCE_SIZE = 64 * 1024;
+
+    private UI ui;
+    private List<String> items;
+
+    @Before
+    public void setUp() {
+        ui = new UI();
+        UI.setCurrent(ui);
+        items = new ArrayList<>();
+        for (int i = 0; i < CATALOG_SIZE; i++) {
+            items.add("user" + i);
+        }
+    }
+
+    @After
+    public void tearDown() {
+        UI.setCurrent(null);
+    }
+
+    @Test
+    public void sharedCatalog_itemsAreNotSerialized() throws Exception {
+        SharedTagCatalog<String> catalog = new SharedTagCatalog<>("serialized-size-test",
+                TagCatalog.of(items, item -> item));
+        try {
+            TaggableTextArea<String> shared = new TaggableTextArea<>(catalog);
+            shared.setValue("Hi user1 and user2");
+            TaggableTextArea<String> copied = new TaggableTextArea<>(items);
+            copied.setValue("Hi user1 and user2");
+
+            int sharedSize = serialize(shared).length;
+            assertTrue("Serialized size " + sharedSize, sharedSize <= MAX_INSTANCE_SIZE);
+            assertTrue(sharedSize * 4 < serialize(copied).length);
+
+            TaggableTextArea<?> deserialized = (TaggableTextArea<?>) deserialize(serialize(shared));
+            assertSame(catalog, deserialized.getTagSource());
+            assertEquals(Arrays.asList("user1", "user2"), deserialized.obtainUsedTags());
+        } finally {
+            catalog.unregister();
+        }
+    }
+
+    @Test
+    public void inMemorySource_itemsAreSerializedOnce() throws Exception {
+        TaggableTextArea<String> textArea = new TaggableTextArea<>(items);
+        textArea.setValue("Hi user1 and user2");
+        textArea.addItems(Arrays.asList("newuser"));
+
+        int size = serialize(textArea).length;
+        int itemsSize = serialize(new ArrayList<>(items)).length;
+        assertTrue("Serialized size " + size, size - itemsSize <= MAX_INSTANCE_SIZE);
+
+        TaggableTextArea<?> deserialized = (TaggableTextArea<?>) deserialize(serialize(textArea));
+        assertEquals(CATALOG_SIZE + 1, deserialized.items.size());
+        assertEquals(Arrays.asList("user1", "user2"), deserialized.obtainUsedTags());
+    }
+
+    @Test
+    public void metrics_areNotSerialized() throws Exception {
+        assertSame(TaggableTextAreaMetrics.NOOP, deserialize(serialize(TaggableTextAreaMetrics.NOOP)));
+
+        TaggableTextArea<String> textArea = new TaggableTextArea<>(Arrays.asList("user1"));
+        InMemoryTaggableTextAreaMetrics metrics = new InMemoryTaggableTextAreaMetrics();
+        textArea.setMetrics(metrics);
+        FilterListSelector<String> selector = new FilterListSelector<>(Arrays.asList("user1"));
+        selector.setMetrics(metrics);
+
+        assertSame(TaggableTextAreaMetrics.NOOP,
+                ((TaggableTextArea<?>) deserialize(serialize(textArea))).getMetrics());
+        assertSame(TaggableTextAreaMetrics.NOOP,
+                ((FilterListSelector<?>) deserialize(serialize(selector))).getMetrics());
+    }
+
+    private static byte[] serialize(Serializable object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
@@ -0,0 +1,364 @@
+/*-
+ * #%L
+ * Taggable Text Area
+ * %%
+ * Copyright (C) 2026 Vaadin Ltd
+ * %%
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * #L%
+ */
+package org.vaadin.addons.componentfactory.tta;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class TagSourceTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final InMemoryTagSource<String> source = new InMemoryTagSource<>(
+            Arrays.asList("John Doe", "Jane Doe", "Jo", "Jane D"), item -> item);
+
+    @Test
+    public void inMemory_search() {
+        assertEquals(Arrays.asList("Jane Doe", "Jane D"),
+                source.search("jane", 0, 10).collect(Collectors.toList()));
+        assertEquals(Collections.singletonList("Jane D"),
+                source.search("jane", 1, 10).collect(Collectors.toList()));
+        assertEquals(4, source.count(""));
+        assertEquals(2, source.count("DOE"));
+    }
+
+    @Test
+    public void inMemory_findTags_longestLabelWins() {
+        List<TagMatch> matches = source.findTags("Jo met Jane Doe and John Doe.", false);
+        assertEquals(Arrays.asList("Jo", "Jane Doe", "John Doe"),
+                matches.stream().map(TagMatch::getLabel).collect(Collectors.toList()));
+        assertEquals(7, matches.get(1).getStart());
+        assertEquals(15, matches.get(1).getEnd());
+    }
+
+    @Test
+    public void inMemory_findTags_wordMatching() {
+        assertEquals(4, source.findTags("Joe, Jo and Jon met Jo.", false).size());
+        List<TagMatch> matches = source.findTags("Joe, Jo and Jon met Jo.", true);
+        assertEquals(2, matches.size());
+        assertEquals(5, matches.get(0).getStart());
+        assertEquals(20, matches.get(1).getStart());
+    }
+
+    @Test
+    public void inMemory_findByLabel() {
+        assertEquals(Optional.of("Jo"), source.findByLabel("Jo"));
+        assertFalse(source.findByLabel("Joe").isPresent());
+        assertEquals(Arrays.asList("Jo", "Jane D"), source
+                .findByLabels(Arrays.asList("Jo", "Joe", "Jane D")).values().stream()
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void catalog_addAndRemoveItems() {
+        TagCatalog<String> catalog = TagCatalog.of(Arrays.asList("John Doe", "Jane Doe"),
+                item -> item);
+        TagCatalog<String> added = catalog.withAddedItems(Arrays.asList("Jo", "Jane D"));
+        TagCatalog<String> removed = added.withRemovedItems(Arrays.asList("Jane Doe", "Jo"));
+
+        assertEquals(2, added.getVersion());
+        assertEquals(3, removed.getVersion());
+        assertEquals(Arrays.asList("John Doe", "Jane Doe"), catalog.getItems());
+        assertEquals(Arrays.asList("John Doe", "Jane Doe", "Jo", "Jane D"), added.getItems());
+        assertEquals(Arrays.asList("John Doe", "Jane D"), removed.getItems());
+        assertEquals(2, removed.size());
+
+        assertEquals(Arrays.asList("Jo", "Jane Doe"),
+                added.findTags("Jo and Jane Doe", false).stream().map(TagMatch::getLabel)
+                        .collect(Collectors.toList()));
+        assertEquals(Collections.singletonList("Jane D"),
+                removed.findTags("Jo and Jane Doe", false).stream().map(TagMatch::getLabel)
+                        .collect(Collectors.toList()));
+        assertFalse(removed.findByLabel("Jane Doe").isPresent());
+        assertEquals(Optional.of("Jane D"), removed.findByKey("Jane D"));
+        assertEquals(1, removed.count("jane"));
+    }
+
+    @Test
+    public void inMemory_addItemsDoesNotModifyTheGivenList() {
+        List<String> items = Arrays.asList("John Doe");
+        InMemoryTagSource<String> source = new InMemoryTagSource<>(items, item -> item);
+        source.addItems(Collections.singletonList("Jane Doe"));
+        assertEquals(Collections.singletonList("John Doe"), items);
+        assertEquals(Arrays.asList("John Doe", "Jane Doe"), source.getItems());
+        assertTrue(source.findByLabel("Jane Doe").isPresent());
+    }
+
+    @Test
+    public void inMemory_listIsReadThrough() {
+        List<String> items = new ArrayList<>(Arrays.asList("John Doe"));
+        InMemoryTagSource<String> source = new InMemoryTagSource<>(items, item -> item);
+        assertEquals(1, source.count("j"));
+        items.add("Jane Doe");
+        assertEquals(2, source.count("j"));
+        items.set(0, "Mary");
+        assertEquals(2, source.count("j"));
+        source.refresh();
+        assertEquals(1, source.count("j"));
+        assertTrue(source.findByLabel("Mary").isPresent());
+    }
+
+    @Test
+    public void inMemory_concurrentQueriesShareTheLookupStructures() {
+        InMemoryTagSource<String> source = new InMemoryTagSource<>(
+                Arrays.asList("John Doe", "Jane Doe", "Jo"), item -> item);
+        TagProcessor<String> processor = new TagProcessor<>(source);
+        List<String> documents = Collections.nCopies(200, "Hi Jane Doe");
+        List<List<String>> results = processor.processAll(documents.stream(), text -> {
+            source.addItems(Collections.singletonList("Mary"));
+            return processor.extractItems(text);
+        }).collect(Collectors.toList());
+        assertTrue(results.stream().allMatch(Collections.singletonList("Jane Doe")::equals));
+        assertEquals(4, source.count(""));
+    }
+
+    @Test
+    public void caching_lookupsAreCachedIncludingMisses() {
+        AtomicInteger calls = new AtomicInteger();
+        CachingTagSource<String> caching = new CachingTagSource<>(new InMemoryTagSource<String>(
+                Arrays.asList("John Doe", "Jane Doe"), item -> item) {
+            @Override
+            public Optional<String> findByLabel(String label) {
+                calls.incrementAndGet();
+                return super.findByLabel(label);
+            }
+
+            @Override
+            public Stream<String> search(String filterText, int offset, int limit) {
+                calls.incrementAndGet();
+                return super.search(filterText, offset, limit);
+            }
+        }, 10);
+
+        assertEquals(Optional.of("John Doe"), caching.findByLabel("John Doe"));
+        assertEquals(Optional.of("John Doe"), caching.findByLabel("John Doe"));
+        assertFalse(caching.findByLabel("Nobody").isPresent());
+        assertFalse(caching.findByLabel("Nobody").isPresent());
+        caching.search("doe", 0, 10).count();
+        caching.search("doe", 0, 10).count();
+        assertEquals(3, calls.get());
+
+        caching.invalidateAll();
+        assertTrue(caching.findByLabel("John Doe").isPresent());
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void caching_leastRecentlyUsedIsEvicted() {
+        CachingTagSource<String> caching = new CachingTagSource<>(source, 2);
+        caching.findByKey("Jo");
+        caching.findByKey("Jane D");
+        caching.findByKey("Jo");
+        caching.findByKey("John Doe");
+        assertEquals(2, caching.getCacheSize());
+    }
+
+    @Test
+    public void processor_decorateExtractAndPlainText() {
+        TagProcessor<String> processor = new TagProcessor<>(source);
+        String html = processor.decorate("Jo met Jane Doe.");
+        assertEquals("Jo met Jane Doe.", TagProcessor.toPlainText(html));
+        assertEquals(html, processor.decorate(html));
+        assertEquals(Arrays.asList("Jo", "Jane Doe"), processor.extractItems("Jo met Jane Doe."));
+        assertEquals("<div>Jo</div>", TagProcessor.stripTags(processor.decorate("<div>Jo</div>")));
+    }
+
+    @Test
+    public void processor_processAllKeepsOrder() {
+        TagProcessor<String> processor = new TagProcessor<>(source);
+        List<String> documents = Stream.iterate(0, i -> i + 1).limit(1000)
+                .map(i -> i % 2 == 0 ? "Hi Jo " + i : "Hi Jane Doe " + i).collect(Collectors.toList());
+        List<List<String>> tags = processor.processAll(documents, processor::extractItems)
+                .collect(Collectors.toList());
+        assertEquals(1000, tags.size());
+        assertEquals(Collections.singletonList("Jo"), tags.get(998));
+        assertEquals(Collections.singletonList("Jane Doe"), tags.get(999));
+    }
+
+    @Test
+    public void processor_triggersAreBuiltLazily() {
+        AtomicInteger loads = new AtomicInteger();
+        TagTrigger<String> projects = TagTrigger.of('#', () -> {
+            loads.incrementAndGet();
+            return Arrays.asList("Apollo", "Gemini");
+        }, item -> item);
+        projects.setClassName("project-tag");
+        TagProcessor<String> processor = new TagProcessor<>(source, false, Arrays.asList(projects));
+
+        assertEquals(Arrays.asList("Jo"), processor.extractItems("Jo met Apollo"));
+        assertEquals(0, loads.get());
+
+        String html = processor.decorate("Jo works on #Apollo");
+        assertEquals(1, loads.get());
+        assertTrue(html.contains("<span class=\"mention-highlight project-tag\""));
+        assertTrue(html.contains(">#Apollo</span>"));
+        assertEquals(Arrays.asList("Apollo"), processor.extractItems("Jo works on #Apollo", projects));
+        assertEquals("Jo works on #Apollo", TagProcessor.toPlainText(processor.decorate(html)));
+    }
+
+    @Test
+    public void processor_sanitizeKeepsOnlyTheComponentMarkup() {
+        String clean = "Hi <span class=\"mention-highlight\" contenteditable=\"false\" id=\"span1\">Jo</span>"
+                + "<span style=\"display: inline;\">&nbsp;</span><div>x<br></div><span id=\"mention-marker\">@</span>";
+        assertSame(clean, TagProcessor.sanitize(clean));
+
+        assertEquals("abc", TagProcessor.sanitize("a<b onclick=\"x()\">b</b><script>alert(1)</script>c"));
+        assertEquals("<span class=\"mention-highlight\">Jo</span>",
+                TagProcessor.sanitize("<span class=\"mention-highlight\" onclick=\"x()\">Jo</span>"));
+        assertEquals("<div style=\"display: inline;\">x</div>",
+                TagProcessor.sanitize("<DIV style='display: inline;'>x</DIV>"));
+        assertEquals("<span>x</span>", TagProcessor.sanitize("<span style=\"color: red\">x</span>"));
+        assertEquals("1 &lt; 2", TagProcessor.sanitize("1 < 2"));
+        assertEquals("ab", TagProcessor.sanitize("a<!-- <img src=x onerror=alert(1)> -->b"));
+        assertEquals(2, TagProcessor.textLength("a<!-- x -->b"));
+    }
+
+    @Test
+    public void sharedCatalog_queryResultsAreCachedByVersion() {
+        SharedTagCatalog<String> catalog = new SharedTagCatalog<>(
+                TagCatalog.of(Arrays.asList("John Doe", "Jane Doe", "Mary"), item -> item));
+        catalog.enableQueryCache(3, null);
+
+        assertEquals(Arrays.asList("John Doe"), catalog.search("jo", 0, 10).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("John Doe"), catalog.search("JO", 0, 10).collect(Collectors.toList()));
+        assertEquals(2, catalog.count("doe"));
+        assertEquals(2, catalog.getQueryCacheSize());
+
+        catalog.addItems(Arrays.asList("Joe"));
+        assertEquals(0, catalog.getQueryCacheSize());
+        assertEquals(Arrays.asList("John Doe", "Joe"), catalog.search("jo", 0, 10).collect(Collectors.toList()));
+
+        for (String query : Arrays.asList("a", "b", "c", "d", "e")) {
+            catalog.count(query);
+        }
+        assertTrue(catalog.getQueryCacheSize() <= 3);
+
+        catalog.disableQueryCache();
+        assertEquals(0, catalog.getQueryCacheSize());
+        assertEquals(1, catalog.count("mary"));
+    }
+
+    @Test
+    public void mappedIndex_answersLikeTheCatalog() throws IOException {
+        List<String> items = Arrays.asList("John Doe", "Jane Doe", "Jo", "Jane D");
+        Path file = folder.getRoot().toPath().resolve("users.idx");
+        MappedTagIndex.write(items, item -> item, item -> "key-" + item, file);
+        MappedTagSource<String> mapped = new MappedTagSource<>(MappedTagIndex.open(file),
+                key -> key.substring("key-".length()), item -> "key-" + item);
+        assertSame(mapped.getIndex(), MappedTagIndex.open(file));
+
+        assertEquals(Arrays.asList("Jane D", "Jane Doe"),
+                mapped.search("jane", 0, 10).collect(Collectors.toList()));
+        assertEquals(2, mapped.count("DOE"));
+        assertEquals(4, mapped.count(""));
+        assertEquals(Optional.of("Jo"), mapped.findByKey("key-Jo"));
+        assertEquals(Optional.empty(), mapped.findByKey("Jo"));
+        assertEquals(Optional.of("Jane D"), mapped.findByLabel("Jane D"));
+        assertEquals(Optional.empty(), mapped.findByLabel("Jane"));
+        assertEquals("John Doe", mapped.getLabel("John Doe"));
+
+        String text = "Jo met Jane Doe and John Doe.";
+        assertEquals(source.findTags(text, false).stream().map(TagMatch::getLabel).collect(Collectors.toList()),
+                mapped.findTags(text, false).stream().map(TagMatch::getLabel).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void mappedIndex_pagesThroughTheMatches() throws IOException {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add("User " + i + (i % 3 == 0 ? " Doe" : ""));
+        }
+        Path file = folder.getRoot().toPath().resolve("paged.idx");
+        MappedTagIndex.write(items, item -> item, item -> item, file);
+        MappedTagSource<String> mapped = new MappedTagSource<>(MappedTagIndex.open(file),
+                key -> key, item -> item);
+        TagCatalog<String> catalog = TagCatalog.of(items, item -> item);
+
+        for (String filter : Arrays.asList("", "doe", "1", "r 2", "oe", "x")) {
+            List<String> expected = catalog.search(filter, 0, Integer.MAX_VALUE).sorted()
+                    .collect(Collectors.toList());
+            assertEquals(expected.size(), mapped.count(filter));
+            List<String> paged = new ArrayList<>();
+            for (int offset = 0; offset < expected.size() + 10; offset += 7) {
+                paged.addAll(mapped.search(filter, offset, 7).collect(Collectors.toList()));
+            }
+            assertEquals(expected, paged);
+        }
+        assertEquals(Arrays.asList("User 36 Doe", "User 39 Doe"),
+                mapped.search("Doe", 10, 2).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void mappedIndex_unresolvedItemsDoNotShortenThePages() throws IOException {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            items.add("User " + (10 + i));
+        }
+        Path file = folder.getRoot().toPath().resolve("removed.idx");
+        MappedTagIndex.write(items, item -> item, item -> item, file);
+        // the users ending with 3 were removed after the index was written
+        MappedTagSource<String> mapped = new MappedTagSource<>(MappedTagIndex.open(file),
+                key -> key.endsWith("3") ? null : key, item -> item);
+
+        assertEquals(Arrays.asList("User 10", "User 11", "User 12", "User 14", "User 15"),
+                mapped.search("", 0, 5).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("User 16", "User 17", "User 18", "User 19", "User 20"),
+                mapped.search("", 5, 5).collect(Collectors.toList()));
+        assertEquals(30, mapped.count(""));
+        assertEquals(17, mapped.search("", 10, 30).count());
+        assertEquals(27, mapped.count(""));
+    }
+
+    @Test
+    public void mappedIndex_failedWriteLeavesNoTemporaryFile() throws IOException {
+        // the index cannot replace a directory, so the write fails after the temporary file is written
+        Path file = folder.newFolder("users.idx").toPath();
+        Files.createFile(file.resolve("content"));
+        try {
+            MappedTagIndex.write(Arrays.asList("John Doe"), item -> item, item -> item, file);
+            fail();
+        } catch (IOException expected) {
+            // expected
+        }
+        try (Stream<Path> files = Files.list(folder.getRoot().toPath())) {
+            assertEquals(Arrays.asList(file), files.collect(Collectors.toList()));
+        }
+    }
+}
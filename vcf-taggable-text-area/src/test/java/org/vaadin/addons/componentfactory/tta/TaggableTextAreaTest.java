@@ -20,14 +20,31 @@
 package org.vaadin.addons.componentfactory.tta;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import com.vaadin.componentfactory.Popup;
+import com.vaadin.flow.component.Component;
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.grid.Grid;
+import com.vaadin.flow.component.html.Span;
+import com.vaadin.flow.data.provider.Query;
+
+import elemental.json.JsonArray;
 
 import net.jcip.annotations.NotThreadSafe;
 
@@ -56,4 +73,433 @@ public class TaggableTextAreaTest {
         assertTrue(htmlValue.startsWith("This is a <span"));
         assertTrue(htmlValue.contains(">test</span>."));
     }
+
+    @Test
+    public void taggableTextArea_compactMarkup() {
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("test"));
+        tta.setValue("A test and another test.");
+        String htmlValue = tta.getHtmlValue();
+        assertFalse(htmlValue.contains("style="));
+        int firstId = htmlValue.indexOf("id=\"span-");
+        int secondId = htmlValue.indexOf("id=\"span-", firstId + 1);
+        assertTrue(secondId > firstId);
+        assertFalse(htmlValue.substring(firstId, htmlValue.indexOf('"', firstId + 4))
+                .equals(htmlValue.substring(secondId, htmlValue.indexOf('"', secondId + 4))));
+    }
+
+    @Test
+    public void taggableTextArea_legacyMarkupIsDecoratedAgain() {
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("test"));
+        tta.setValue("This is a <span class=\"mention-highlight\" contenteditable=false "
+                + "style=\"background-color:var(--lumo-contrast-10pct);color:var(--lumo-primary-text-color)\" "
+                + "id=\"span-0b5e5f6a-3c35-4b43-9b6c-6f3c8c1e6f0e\">test</span>.");
+        assertEquals("This is a test.", tta.getValue());
+        assertFalse(tta.getHtmlValue().contains("style="));
+        assertEquals(1, tta.obtainUsedTags().size());
+    }
+
+    @Test
+    public void taggableTextArea_metrics() {
+        InMemoryTaggableTextAreaMetrics metrics = new InMemoryTaggableTextAreaMetrics();
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("test", "más"));
+        tta.setMetrics(metrics);
+        tta.setValue("A test, más test.");
+        long htmlBytes = tta.getHtmlValue().getBytes(StandardCharsets.UTF_8).length;
+        assertEquals(3, tta.obtainUsedTags().size());
+        tta.updateContent("ñ", 1);
+
+        assertEquals(1, metrics.getTimes(TaggableTextAreaMetrics.Operation.PROCESS_VALUE).getCount());
+        assertEquals(3, metrics.getTagCounts(TaggableTextAreaMetrics.Operation.PROCESS_VALUE).getSum());
+        assertEquals(htmlBytes, metrics.getPayloadSizes(TaggableTextAreaMetrics.Operation.PROCESS_VALUE).getSum());
+        assertEquals(3, metrics.getTagCounts(TaggableTextAreaMetrics.Operation.OBTAIN_USED_TAGS).getMax());
+        assertEquals(2, metrics.getPayloadSizes(TaggableTextAreaMetrics.Operation.UPDATE_CONTENT).getSum());
+
+        metrics.reset();
+        assertEquals(0, metrics.getTimes(TaggableTextAreaMetrics.Operation.PROCESS_VALUE).getCount());
+    }
+
+    @Test
+    public void filterListBoxSelector_windowedFromTheStartRecordsTheFilterCount() {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add("User " + i);
+        }
+        FilterListBoxSelector<String> selector = new FilterListBoxSelector<>(items, 10);
+        assertTrue(selector.isWindowed());
+        assertEquals(10, selector.getFilteredItems().size());
+
+        InMemoryTaggableTextAreaMetrics metrics = new InMemoryTaggableTextAreaMetrics();
+        selector.setMetrics(metrics);
+        selector.setFilterExpression((item, filterText) -> item.contains(filterText));
+        selector.getFilter().setValue("1");
+        assertEquals(10, selector.getFilteredItems().size());
+        assertEquals(19, metrics.getFilterResultSizes().getMax());
+    }
+
+    @Test
+    public void taggableTextArea_itemsListIsReadThrough() {
+        List<String> items = new ArrayList<>(Arrays.asList("test"));
+        TaggableTextArea<String> tta = new TaggableTextArea<>(items);
+        tta.setValue("A test by Mary.");
+        assertEquals(1, tta.obtainUsedTags().size());
+
+        items.add("Mary");
+        tta.setValue("A test by Mary.");
+        assertEquals(Arrays.asList("test", "Mary"), tta.obtainUsedTags());
+
+        // the list given to the constructor is copied before the first change
+        tta.addItems(Arrays.asList("by"));
+        assertEquals(Arrays.asList("test", "Mary"), items);
+        tta.setValue("A test by Mary.");
+        assertEquals(Arrays.asList("test", "by", "Mary"), tta.obtainUsedTags());
+
+        // a subclass may reassign the items
+        tta.items = new ArrayList<>(Arrays.asList("by"));
+        tta.setValue("A test by Mary.");
+        assertEquals(Arrays.asList("by"), tta.obtainUsedTags());
+    }
+
+    @Test
+    public void taggedText_highlightsTagsAndEscapesText() {
+        TaggedText<String> taggedText = new TaggedText<>(
+                new InMemoryTagSource<>(Arrays.asList("test"), item -> item), "a <b>test</b><br/>&");
+        assertEquals("a &lt;b&gt;<span class=\"mention-highlight\">test</span>&lt;/b&gt;<br/>&amp;",
+                taggedText.getElement().getProperty("innerHTML"));
+
+        taggedText.addTagClickListener(ev -> {
+        });
+        assertTrue(taggedText.getElement().getProperty("innerHTML")
+                .contains("<span class=\"mention-highlight\" id=\"tagged-"));
+    }
+
+    @Test
+    public void taggedTextRenderer_decoratesEachRowOnce() {
+        AtomicInteger searches = new AtomicInteger();
+        TagSource<String> source = new InMemoryTagSource<String>(Arrays.asList("test"), item -> item) {
+            @Override
+            public List<TagMatch> findTags(String text, boolean wordMatching) {
+                searches.incrementAndGet();
+                return super.findTags(text, wordMatching);
+            }
+        };
+        TaggedTextRenderer<String, String> renderer = new TaggedTextRenderer<>(row -> row, source);
+        renderer.setWordMatching(true);
+        renderer.setTagPopupContentProvider(item -> new Span(item));
+        TaggedText<String> taggedText = renderer.createComponent("a test");
+        assertEquals(1, searches.get());
+        assertTrue(taggedText.isWordMatching());
+        assertTrue(taggedText.getElement().getProperty("innerHTML").contains("id=\"tagged-"));
+    }
+
+    @Test
+    public void taggableTextArea_plainLengthIsMaintained() {
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("test"));
+        tta.setMaxLength(12);
+        tta.setValue("a test &amp;<br/>b");
+        assertEquals(9, tta.getPlainLength());
+        tta.setInvalid(true);
+        assertFalse(tta.isInvalid());
+
+        // the length reported by the client is not trusted
+        tta.updateContent("a test &amp; more text", 0);
+        assertEquals(18, tta.getPlainLength());
+        tta.setInvalid(true);
+        assertTrue(tta.isInvalid());
+
+        tta.clear();
+        assertEquals(0, tta.getPlainLength());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void taggableTextArea_replaceTagUpdatesTheServerValue() {
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("test"));
+        tta.updateContent("Hi <span id=\"mention-marker\">@</span>", 4);
+        tta.showPopup("@");
+        FilterListSelector<String> selector = (FilterListSelector<String>) tta.getChildren()
+                .filter(Popup.class::isInstance).flatMap(Component::getChildren).findFirst().get();
+        selector.setValue("test");
+
+        String htmlValue = tta.getHtmlValue();
+        assertFalse(htmlValue.contains("mention-marker"));
+        assertTrue(htmlValue.startsWith("Hi <span class=\"mention-highlight\""));
+        assertTrue(tta.getValue().startsWith("Hi test"));
+        assertEquals(8, tta.getPlainLength());
+    }
+
+    @Test
+    public void taggableTextArea_tagPopupIsRoutedByTheTriggerOfTheTag() {
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("#1 Fan"));
+        tta.addTrigger(TagTrigger.of('#', () -> Arrays.asList("Apollo"), item -> item));
+        tta.setValue("Hi #1 Fan, meet #Apollo");
+
+        String html = tta.getHtmlValue();
+        assertSame(html, TagProcessor.sanitize(html));
+        assertEquals(html.indexOf(" data-trigger=\"#\""), html.lastIndexOf(" data-trigger=\""));
+        assertTrue(html.indexOf(">#Apollo<") > html.indexOf(" data-trigger=\"#\""));
+
+        // the label of the items starts with the trigger character, but the tag has no trigger
+        String idStart = "id=\"";
+        int start = html.indexOf(idStart) + idStart.length();
+        String tagId = html.substring(start, html.indexOf('"', start));
+        tta.showTagPopup(tagId, "#1 Fan", null);
+        assertTrue(tta.getChildren().filter(Popup.class::isInstance).map(Popup.class::cast)
+                .anyMatch(Popup::isOpened));
+    }
+
+    @Test
+    public void taggableTextArea_leadingSpaceDependsOnTheTextBeforeTheMarker() {
+        String marker = "<span id=\"mention-marker\">@</span>";
+        String tag = "<span class=\"mention-highlight\" contenteditable=\"false\" id=\"span1\">test</span>";
+        String trailingSpace = "<span style=\"display: inline;\">&nbsp;</span>";
+        String[] needSpace = {"Hi", "Hi " + tag, "Hi &amp;"};
+        String[] noSpace = {"", "Hi ", "Hi&nbsp;", "Hi " + tag + trailingSpace, "Hi<br>", "Hi<div>",
+                "<div>Hi " + tag + trailingSpace + "</div><div>"};
+        for (String before : needSpace) {
+            assertTrue(before, TaggableTextArea.needsLeadingSpace(before + marker, before.length()));
+        }
+        for (String before : noSpace) {
+            assertFalse(before, TaggableTextArea.needsLeadingSpace(before + marker, before.length()));
+        }
+    }
+
+    @Test
+    public void taggableTextArea_asyncDecorationShowsTheTextFirst() {
+        List<Runnable> tasks = new ArrayList<>();
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("test"));
+        tta.setDecorationExecutor(tasks::add);
+        tta.setAsyncDecorationThreshold(10);
+
+        // not attached, decorated synchronously
+        tta.setValue("This is a test.");
+        assertTrue(tasks.isEmpty());
+        assertTrue(tta.getHtmlValue().contains("mention-highlight"));
+
+        ui.add(tta);
+        tta.setValue("Short test");
+        assertEquals(1, tasks.size());
+        assertEquals("Short test", tta.getHtmlValue());
+        assertEquals("Short test", tta.getValue());
+        assertEquals(10, tta.getPlainLength());
+
+        tta.setAsyncDecorationThreshold(100);
+        tta.setValue("This is a test.");
+        assertEquals(1, tasks.size());
+        assertTrue(tta.getHtmlValue().contains("mention-highlight"));
+    }
+
+    @Test
+    public void taggableTextArea_failedAsyncDecorationFallsBackToTheRequestThread() {
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("test"));
+        tta.setAsyncDecorationThreshold(10);
+        ui.add(tta);
+        List<Runnable> tasks = new ArrayList<>();
+        tta.setDecorationExecutor(tasks::add);
+        tta.setValue("This is a test.");
+        // the UI has no session, so it cannot be accessed anymore when the tags are found
+        tasks.get(0).run();
+        assertEquals("This is a test.", tta.getHtmlValue());
+
+        tta.setDecorationExecutor(task -> {
+            throw new RejectedExecutionException();
+        });
+        tta.setValue("This is a test.");
+        assertTrue(tta.getHtmlValue().contains("mention-highlight"));
+    }
+
+    @Test
+    public void taggableTextArea_identicalContentIsIgnored() {
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("test"));
+        List<String> events = new ArrayList<>();
+        tta.addValueChangeListener(ev -> events.add(tta.getValue()));
+        tta.updateContent("some text", 9);
+        tta.updateContent("some text", 9);
+        assertEquals(Arrays.asList("some text"), events);
+    }
+
+    @Test
+    public void taggableTextArea_valueChangesAreCoalesced() {
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("test"));
+        tta.setCoalesceValueChanges(true);
+        ui.add(tta);
+        List<String> events = new ArrayList<>();
+        tta.addValueChangeListener(ev -> events.add(tta.getValue()));
+        tta.updateContent("some", 4);
+        tta.updateContent("some text", 9);
+        assertTrue(events.isEmpty());
+        assertEquals("some text", tta.getValue());
+
+        ui.getInternals().getStateTree().runExecutionsBeforeClientResponse();
+        assertEquals(Arrays.asList("some text"), events);
+    }
+
+    @Test
+    public void taggableTextArea_undoRedoAndSnapshots() {
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("test"));
+        tta.setHistorySize(2);
+        tta.updateContent("one", 3);
+        ContentSnapshot draft = tta.getSnapshot();
+        tta.updateContent("one two", 7);
+        tta.updateContent("one two three", 13);
+        assertEquals("one", draft.getText());
+
+        assertTrue(tta.undo());
+        assertEquals("one two", tta.getValue());
+        assertEquals(7, tta.getPlainLength());
+        assertTrue(tta.undo());
+        assertEquals("one", tta.getValue());
+        // only two changes are kept
+        assertFalse(tta.undo());
+
+        assertTrue(tta.redo());
+        assertEquals("one two", tta.getValue());
+        tta.updateContent("one two four", 12);
+        assertFalse(tta.canRedo());
+
+        tta.restore(draft);
+        assertEquals("one", tta.getValue());
+        assertTrue(tta.undo());
+        assertEquals("one two four", tta.getValue());
+    }
+
+    @Test
+    public void taggableTextArea_prefetchedPageIsUsedByTheNextSelector() {
+        SharedTagCatalog<String> catalog = new SharedTagCatalog<>(
+                TagCatalog.of(Arrays.asList("John Doe", "Jane Doe", "Mary"), item -> item));
+        catalog.enableQueryCache(100, null);
+        TaggableTextArea<String> tta = new TaggableTextArea<>(catalog);
+        tta.setPrefetchSize(2);
+        tta.prefetch();
+        // the first page and the total count
+        assertEquals(2, catalog.getQueryCacheSize());
+
+        tta.createSelector();
+        tta.createSelector();
+        assertEquals(2, catalog.getQueryCacheSize());
+
+        // the page is fetched again after the catalog changes
+        catalog.update(current -> current.withAddedItems(Arrays.asList("Joe")));
+        tta.createSelector();
+        assertEquals(2, catalog.getQueryCacheSize());
+        assertEquals(4, selectorItemCount(tta));
+    }
+
+    @Test
+    public void taggableTextArea_prefetchedPageOfAListIsKeptUntilItChanges() {
+        List<String> items = new ArrayList<>(Arrays.asList("John Doe", "Jane Doe"));
+        TaggableTextArea<String> tta = new TaggableTextArea<>(items);
+        tta.setPrefetchSize(10);
+        tta.prefetch();
+        assertEquals(2, selectorItemCount(tta));
+
+        items.add("Mary");
+        assertEquals(3, selectorItemCount(tta));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int selectorItemCount(TaggableTextArea<String> tta) {
+        Grid<String> grid = (Grid<String>) tta.createSelector().getElement().getChild(0).getChild(1)
+                .getComponent().get();
+        return grid.getDataProvider().size(new Query<>());
+    }
+
+    @Test
+    public void taggableTextArea_inlineCompletion() {
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("John Doe", "Jane Doe", "Jo", "Mary"));
+        tta.setInlineSuggestionCount(2);
+        tta.setInlineCompletion(true);
+        assertEquals(2, ((JsonArray) tta.getElement().getPropertyRaw("inlineSuggestions")).length());
+        assertFalse(tta.getElement().getProperty("inlineSuggestionsComplete", true));
+
+        assertEquals(Arrays.asList("John Doe", "Jo"), tta.suggestLabels("jo"));
+        assertEquals(Arrays.asList("Mary"), tta.suggestLabels("M"));
+        assertEquals(0, tta.requestSuggestions("Doe").length());
+
+        tta.updateContent("Hi <span id=\"mention-marker\" data-ghost=\"ry\">@Ma</span>", 6);
+        tta.acceptSuggestion("Mary");
+        assertTrue(tta.getHtmlValue().startsWith("Hi <span class=\"mention-highlight\""));
+        assertTrue(tta.getValue().startsWith("Hi Mary"));
+    }
+
+    @Test
+    public void taggableTextArea_suggestionsAreRankedByUsage() {
+        TaggableTextArea<String> tta = new TaggableTextArea<>(Arrays.asList("John Doe", "Jane Doe", "Jo", "Mary"));
+        TagUsageStatistics statistics = new TagUsageStatistics();
+        tta.setUsageStatistics(statistics, "user");
+        assertEquals(Arrays.asList("John Doe", "Jo"), tta.suggestLabels("jo"));
+
+        tta.updateContent("Hi <span id=\"mention-marker\">@J</span>", 5);
+        tta.acceptSuggestion("Jo");
+        assertEquals(Arrays.asList("Jo"), statistics.getTopKeys("user", 10));
+        assertEquals(Arrays.asList("Jo", "John Doe"), tta.suggestLabels("jo"));
+
+        // the tag inserted with the selector is not counted again
+        tta.obtainUsedTags();
+        tta.obtainUsedTags();
+        assertEquals(5, statistics.getScore("user", "Jo"), 0.01);
+
+        // the tags of a new value are counted once
+        tta.setValue("Hi Mary");
+        tta.obtainUsedTags();
+        tta.obtainUsedTags();
+        assertEquals(1, statistics.getScore(null, "Mary"), 0.01);
+        assertEquals(0, statistics.getScore(null, "Jane Doe"), 0.01);
+    }
+
+    @Test
+    public void tagUsageStatistics_usesDecay() {
+        TagUsageStatistics statistics = new TagUsageStatistics(Duration.ofDays(1));
+        long now = Duration.ofDays(10).toMillis();
+        statistics.record(null, "old", now - Duration.ofDays(2).toMillis());
+        statistics.record(null, "old", now - Duration.ofDays(2).toMillis());
+        statistics.record(null, "old", now - Duration.ofDays(2).toMillis());
+        statistics.record(null, "new", now);
+        statistics.record("user", "mine", now - Duration.ofDays(1).toMillis());
+        assertEquals(0.75, statistics.getScore(null, "old", now), 0.01);
+        assertEquals(Arrays.asList("new", "old", "mine"), statistics.getTopKeys(null, 3, now));
+        assertEquals(Arrays.asList("mine", "new", "old"), statistics.getTopKeys("user", 3, now));
+    }
+
+    @Test
+    public void tagUsageStatistics_decayedCountersAreDropped() {
+        TagUsageStatistics statistics = new TagUsageStatistics(Duration.ofDays(1));
+        long now = Duration.ofDays(10).toMillis();
+        statistics.record("user", "old", now);
+        statistics.record("user", "other", now);
+        statistics.record("user", "other", now);
+        assertEquals(Arrays.asList("other"), statistics.getTopKeys("user", 1, now));
+        assertEquals(Arrays.asList("other", "old"), statistics.getTopKeys("user", 5, now));
+        assertEquals(4, statistics.getCounterCount());
+
+        long later = now + Duration.ofDays(30).toMillis();
+        statistics.record(null, "new", later);
+        assertEquals(1, statistics.getCounterCount());
+        assertEquals(Arrays.asList("new"), statistics.getTopKeys("user", 5, later));
+    }
+
+    @Test
+    public void rankedTagSource_pagesTheDelegateAtTheOffset() {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            items.add("item" + i);
+        }
+        List<Integer> offsets = new ArrayList<>();
+        TagSource<String> delegate = new InMemoryTagSource<String>(items, item -> item) {
+            @Override
+            public Stream<String> search(String filterText, int offset, int limit) {
+                offsets.add(offset);
+                return super.search(filterText, offset, limit);
+            }
+        };
+        TagUsageStatistics statistics = new TagUsageStatistics();
+        statistics.record(null, "item7");
+        RankedTagSource<String> ranked = new RankedTagSource<>(delegate, statistics, null, 5);
+
+        assertEquals(21, ranked.count(""));
+        assertEquals(Arrays.asList("item7", "item0", "item1"),
+                ranked.search("", 0, 3).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("item9", "item10"),
+                ranked.search("", 10, 2).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(0, 9), offsets);
+    }
 }